@@ -0,0 +1,40 @@
+package com.jwt.validator.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Tokens exercised by the benchmarks, one per validation outcome.
+ */
+public enum BenchmarkTokens {
+    VALID_SMALL_SEED(token("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Toninho Araujo\"}")),
+    VALID_LARGE_SEED(token("{\"Role\":\"Member\",\"Seed\":\"2147483647\",\"Name\":\"Toninho Araujo\"}")),
+    VALID_LONG_NAME(token("{\"Role\":\"External\",\"Seed\":\"88037\",\"Name\":\"" + "A".repeat(256) + "\"}")),
+    INVALID_STRUCTURE("eyJhbGciOiJIUzI1NiJ9.eyJSb2xlIjoiQWRtaW4ifQ"),
+    INVALID_BASE64("eyJhbGciOiJIUzI1NiJ9.eyJSb2xl*IjoiQWRtaW4ifQ.signature"),
+    INVALID_JSON(token("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":")),
+    INVALID_CLAIMS(token("{\"Role\":\"Admin\",\"Seed\":\"7841\"}")),
+    INVALID_NAME(token("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"M4ria Olivia\"}")),
+    INVALID_ROLE(token("{\"Role\":\"Internal\",\"Seed\":\"7841\",\"Name\":\"Toninho Araujo\"}")),
+    INVALID_SEED_FORMAT(token("{\"Role\":\"Admin\",\"Seed\":\"NotANumber\",\"Name\":\"Toninho Araujo\"}")),
+    INVALID_SEED_NOT_PRIME(token("{\"Role\":\"Admin\",\"Seed\":\"2147483646\",\"Name\":\"Toninho Araujo\"}"));
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final String SIGNATURE = "QY05sIjtrcJnP533kQNk8QXcaleJ1Q01jWY_ZzIZuAg";
+
+    private final String value;
+
+    BenchmarkTokens(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    static String token(String payload) {
+        return HEADER + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + SIGNATURE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jwt.validator.benchmark;
+
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.config.FlightRecordingProperties;
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.cache.ValidationResultCache;
+import com.jwt.validator.service.jwt.impl.JwtValidationServiceImpl;
+import com.jwt.validator.service.jwt.metrics.ValidationFlightRecorder;
+import com.jwt.validator.service.jwt.metrics.ValidationMetrics;
+import com.jwt.validator.service.jwt.prefilter.TokenPreFilter;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.signature.JwksKeyStore;
+import com.jwt.validator.service.jwt.signature.SignatureVerifier;
+import com.jwt.validator.service.prime.impl.PrimeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtValidationServiceImpl#validateJwt(String)} per outcome,
+ * with the result cache bypassed ({@code cached=false}) or warm ({@code cached=true}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtValidationBenchmark {
+
+    @Param
+    private BenchmarkTokens token;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private JwtValidationServiceImpl validationService;
+    private String tokenValue;
+
+    @Setup
+    public void setUp() {
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(cached, 10_000, Duration.ofHours(1), 4096, null));
+        SignatureProperties signature = new SignatureProperties(false, null, Set.of(), Duration.ZERO);
+        validationService = new JwtValidationServiceImpl(new PrimeServiceImpl(), cache,
+                new SignatureVerifier(signature, new JwksKeyStore(signature, event -> { })),
+                new ValidationMetrics(new SimpleMeterRegistry()),
+                new ClaimRulesStore(new ClaimRulesProperties(null, Duration.ZERO), event -> { }),
+                new TokenPreFilter(new TokenPreFilterProperties(true, 16384, 8192, 4096)),
+                new ValidationFlightRecorder(new FlightRecordingProperties(Duration.ZERO, Duration.ZERO, DataSize.ofMegabytes(1))));
+        tokenValue = token.value();
+        validationService.validateJwt(tokenValue);
+    }
+
+    @Benchmark
+    public ResponseEntity<Boolean> validateJwt() {
+        return validationService.validateJwt(tokenValue);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jwt.validator.benchmark;
+
+import com.jwt.validator.service.prime.impl.PrimeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PrimeServiceImpl#isPrime(int)} for seeds answered from the sieve
+ * ("hot") and seeds beyond it that go through Miller-Rabin ("cold").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrimeServiceBenchmark {
+
+    @Param({"7841", "999983", "1000000", "2147483647", "2147483629", "2147483646"})
+    private int seed;
+
+    private PrimeServiceImpl primeService;
+
+    @Setup
+    public void setUp() {
+        primeService = new PrimeServiceImpl();
+    }
+
+    @Benchmark
+    public boolean isPrime() {
+        return primeService.isPrime(seed);
+    }
+
+    /**
+     * Seeds that walk the whole int range, defeating any locality in the sieve.
+     */
+    @Benchmark
+    public boolean isPrimeScattered(ScatteredSeeds seeds) {
+        return primeService.isPrime(seeds.next());
+    }
+
+    @State(Scope.Thread)
+    public static class ScatteredSeeds {
+        private int current = 1;
+
+        int next() {
+            current = current * 1_103_515_245 + 12_345;
+            return current & Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.jwt.validator.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for a running instance of the service. Requests are sent at a
+ * fixed rate whatever the latency of the previous ones, and each latency is measured from
+ * the moment its request was due, not from when it was actually sent, so a stalled service
+ * shows up in the percentiles instead of silently slowing the test down (coordinated
+ * omission).
+ *
+ * <p>Arguments are {@code --name=value} pairs; see {@link Options}. Results are written as
+ * JSON to {@code --out} and, for plotting, as an HdrHistogram percentile distribution next
+ * to it ({@code .hgrm}).</p>
+ */
+public final class LoadGenerator {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Options options;
+    private final HttpClient client;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastCompletion = new AtomicLong();
+    private final LongAdder expected = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LoadGenerator(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(options.clientThreads))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Result result = new LoadGenerator(options).run();
+        result.write(options.out);
+        System.out.print(result.json());
+        System.exit(0);
+    }
+
+    Result run() throws InterruptedException {
+        int warmupRequests = (int) (options.rate * options.warmup.toNanos() / 1_000_000_000L);
+        int measuredRequests = (int) (options.rate * options.duration.toNanos() / 1_000_000_000L);
+        TokenCorpus corpus = TokenCorpus.generate(warmupRequests + measuredRequests,
+                options.repeatRatio, options.validRatio, options.seed);
+        HttpRequest[] requests = new HttpRequest[corpus.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = HttpRequest.newBuilder(URI.create(options.url + "?token=" + corpus.token(i)))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        System.out.printf(Locale.ROOT, "%d requests (%d distinct tokens) at %.0f/s against %s%n",
+                corpus.size(), corpus.distinct(), options.rate, options.url);
+
+        double intervalNanos = 1_000_000_000d / options.rate;
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.length; i++) {
+            long due = start + (long) (i * intervalNanos);
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(requests[i], corpus.tokenClass(i), due, i >= warmupRequests);
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long measureStart = start + (long) (warmupRequests * intervalNanos);
+        double measuredSeconds = (lastCompletion.get() - measureStart) / 1e9;
+        return new Result(options, corpus.distinct(), recorder.getIntervalHistogram(), measuredSeconds,
+                expected.sum(), unexpected.sum(), shed.sum(), failed.sum(), dropped.sum());
+    }
+
+    /**
+     * Sends one request; only {@code measured} ones, those due after the warmup, are
+     * counted and timed.
+     */
+    private void send(HttpRequest request, TokenClass tokenClass, long due, boolean measured) {
+        if (inFlight.incrementAndGet() > options.maxInFlight) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                dropped.increment();
+            }
+            return;
+        }
+        CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((value, error) -> {
+            if (measured) {
+                long now = System.nanoTime();
+                recorder.recordValue(Math.min(now - due, MAX_LATENCY_NANOS));
+                lastCompletion.accumulateAndGet(now, Math::max);
+                count(value, error, tokenClass);
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void count(HttpResponse<Void> response, Throwable error, TokenClass tokenClass) {
+        if (error != null) {
+            failed.increment();
+        } else if (response.statusCode() == tokenClass.expectedStatus()) {
+            expected.increment();
+        } else if (response.statusCode() == 503) {
+            shed.increment();
+        } else {
+            unexpected.increment();
+        }
+    }
+
+    /**
+     * Command line options, all optional: {@code url}, {@code rate} (requests per second),
+     * {@code duration} and {@code warmup} (seconds), {@code repeat-ratio}, {@code valid-ratio},
+     * {@code seed} (of the corpus), {@code max-in-flight} (requests beyond it are counted as
+     * dropped), {@code client-threads}, {@code label} (e.g. the build under test) and {@code out}.
+     */
+    static final class Options {
+        String url = "http://localhost:8080/api/v1/validate";
+        double rate = 500;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(5);
+        double repeatRatio = 0.5;
+        double validRatio = 0.7;
+        long seed = 42;
+        int maxInFlight = 10_000;
+        int clientThreads = 4;
+        String label = "";
+        Path out = Path.of("target", "loadtest-result.json");
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+            Options options = new Options();
+            options.url = take(values, "url", options.url);
+            options.rate = Double.parseDouble(take(values, "rate", String.valueOf(options.rate)));
+            options.duration = seconds(take(values, "duration", null), options.duration);
+            options.warmup = seconds(take(values, "warmup", null), options.warmup);
+            options.repeatRatio = Double.parseDouble(take(values, "repeat-ratio", String.valueOf(options.repeatRatio)));
+            options.validRatio = Double.parseDouble(take(values, "valid-ratio", String.valueOf(options.validRatio)));
+            options.seed = Long.parseLong(take(values, "seed", String.valueOf(options.seed)));
+            options.maxInFlight = Integer.parseInt(take(values, "max-in-flight", String.valueOf(options.maxInFlight)));
+            options.clientThreads = Integer.parseInt(take(values, "client-threads", String.valueOf(options.clientThreads)));
+            options.label = take(values, "label", options.label);
+            options.out = Path.of(take(values, "out", options.out.toString()));
+            if (!values.isEmpty()) {
+                throw new IllegalArgumentException("Unknown options " + values.keySet());
+            }
+            if (options.rate <= 0 || options.repeatRatio < 0 || options.repeatRatio >= 1
+                    || options.validRatio < 0 || options.validRatio > 1) {
+                throw new IllegalArgumentException("rate must be positive, repeat-ratio in [0, 1) and valid-ratio in [0, 1]");
+            }
+            return options;
+        }
+
+        private static String take(Map<String, String> values, String name, String fallback) {
+            String value = values.remove(name);
+            return value != null ? value : fallback;
+        }
+
+        private static Duration seconds(String value, Duration fallback) {
+            return value != null ? Duration.ofMillis((long) (Double.parseDouble(value) * 1000)) : fallback;
+        }
+    }
+
+    record Result(Options options, int distinctTokens, Histogram latencies, double measuredSeconds,
+                  long expected, long unexpected, long shed, long failed, long dropped) {
+
+        String json() {
+            long completed = expected + unexpected + shed + failed;
+            return String.format(Locale.ROOT, """
+                    {
+                      "label": "%s",
+                      "timestamp": "%s",
+                      "url": "%s",
+                      "targetRate": %.1f,
+                      "durationSeconds": %.1f,
+                      "throughput": %.1f,
+                      "corpus": {"repeatRatio": %.2f, "validRatio": %.2f, "seed": %d, "distinctTokens": %d},
+                      "responses": {"expected": %d, "unexpected": %d, "shed": %d, "failed": %d, "dropped": %d},
+                      "latencyMs": {"p50": %.3f, "p90": %.3f, "p99": %.3f, "p99_9": %.3f, "max": %.3f, "mean": %.3f}
+                    }
+                    """,
+                    options.label, Instant.now(), options.url, options.rate, measuredSeconds,
+                    completed / measuredSeconds,
+                    options.repeatRatio, options.validRatio, options.seed, distinctTokens,
+                    expected, unexpected, shed, failed, dropped,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()), latencies.getMean() / 1e6);
+        }
+
+        void write(Path out) throws IOException {
+            Path parent = out.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(out, json());
+            String name = out.getFileName().toString().replaceFirst("\\.json$", "") + ".hgrm";
+            try (PrintStream distribution = new PrintStream(parent.resolve(name).toFile(), StandardCharsets.UTF_8)) {
+                latencies.outputPercentileDistribution(distribution, 1e6);
+            }
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
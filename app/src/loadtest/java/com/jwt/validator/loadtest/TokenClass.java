@@ -0,0 +1,137 @@
+package com.jwt.validator.loadtest;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Kinds of token in the load-test corpus: valid ones and one per rejection reason the
+ * default configuration can produce. Each kind knows the status the service must answer
+ * with, so wrong answers under load are counted instead of timed as successes.
+ */
+public enum TokenClass {
+    VALID(200) {
+        @Override
+        String generate(Random random) {
+            return token(payload(randomRole(random), randomSeed(random, true), randomName(random)));
+        }
+    },
+    STRUCTURE(400) {
+        @Override
+        String generate(Random random) {
+            return HEADER + "." + encode(payload(randomRole(random), randomSeed(random, true), randomName(random)));
+        }
+    },
+    SIZE(400) {
+        @Override
+        String generate(Random random) {
+            return token(payload(randomRole(random), randomSeed(random, true), letters(random, OVERSIZED_NAME_LENGTH)));
+        }
+    },
+    BASE64(400) {
+        @Override
+        String generate(Random random) {
+            String payload = encode(payload(randomRole(random), randomSeed(random, true), randomName(random)));
+            int at = random.nextInt(payload.length());
+            return HEADER + "." + payload.substring(0, at) + "*" + payload.substring(at) + "." + SIGNATURE;
+        }
+    },
+    JSON(400) {
+        @Override
+        String generate(Random random) {
+            String payload = payload(randomRole(random), randomSeed(random, true), randomName(random));
+            return token(payload.substring(0, 1 + random.nextInt(payload.length() - 2)));
+        }
+    },
+    NAME(400) {
+        @Override
+        String generate(Random random) {
+            String name = randomName(random);
+            int at = random.nextInt(name.length() + 1);
+            return token(payload(randomRole(random), randomSeed(random, true),
+                    name.substring(0, at) + random.nextInt(10) + name.substring(at)));
+        }
+    },
+    ROLE(400) {
+        @Override
+        String generate(Random random) {
+            return token(payload(INVALID_ROLES[random.nextInt(INVALID_ROLES.length)], randomSeed(random, true), randomName(random)));
+        }
+    },
+    SEED(400) {
+        @Override
+        String generate(Random random) {
+            return token(payload(randomRole(random), randomSeed(random, false), randomName(random)));
+        }
+    };
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final String SIGNATURE = "QY05sIjtrcJnP533kQNk8QXcaleJ1Q01jWY_ZzIZuAg";
+    private static final String[] ROLES = {"Admin", "Member", "External"};
+    private static final String[] INVALID_ROLES = {"admin", "Internal", "Guest", "Owner", ""};
+    private static final int MAX_NAME_LENGTH = 256;
+    private static final int OVERSIZED_NAME_LENGTH = 4200;
+    /**
+     * Upper bounds of the seed size buckets: inside the prime sieve and beyond it, where
+     * primality falls back to Miller-Rabin.
+     */
+    private static final int[] SEED_BOUNDS = {1_000, 1 << 20, Integer.MAX_VALUE - 32};
+
+    private final int expectedStatus;
+
+    TokenClass(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+
+    abstract String generate(Random random);
+
+    private static String randomRole(Random random) {
+        return ROLES[random.nextInt(ROLES.length)];
+    }
+
+    /**
+     * Names are mostly short, with a long tail up to the maximum length.
+     */
+    private static String randomName(Random random) {
+        int length = random.nextInt(4) == 0 ? 1 + random.nextInt(MAX_NAME_LENGTH) : 3 + random.nextInt(30);
+        return letters(random, length);
+    }
+
+    private static String letters(Random random, int length) {
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append(i > 0 && random.nextInt(7) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        if (name.charAt(0) == ' ') {
+            name.setCharAt(0, 'A');
+        }
+        return name.toString();
+    }
+
+    private static String randomSeed(Random random, boolean prime) {
+        int bound = SEED_BOUNDS[random.nextInt(SEED_BOUNDS.length)];
+        int candidate = 4 + random.nextInt(bound - 4);
+        BigInteger value = BigInteger.valueOf(candidate);
+        if (prime) {
+            return value.nextProbablePrime().toString();
+        }
+        return value.isProbablePrime(30) ? Integer.toString(candidate + 1) : Integer.toString(candidate);
+    }
+
+    private static String payload(String role, String seed, String name) {
+        return "{\"Role\":\"" + role + "\",\"Seed\":\"" + seed + "\",\"Name\":\"" + name + "\"}";
+    }
+
+    private static String token(String payload) {
+        return HEADER + "." + encode(payload) + "." + SIGNATURE;
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jwt.validator.loadtest;
+
+import java.util.Random;
+
+/**
+ * The sequence of tokens a load test sends, generated up front so that producing a
+ * request costs nothing while the test runs. A share of the requests, the repeat ratio,
+ * resends a token that was already sent, as a real caller presenting the same session
+ * token would; the rest are new tokens, drawn from the {@link TokenClass classes} with the
+ * configured share of valid ones and the rejections spread evenly.
+ */
+public final class TokenCorpus {
+
+    private final String[] tokens;
+    private final TokenClass[] classes;
+    private final int distinct;
+
+    private TokenCorpus(String[] tokens, TokenClass[] classes, int distinct) {
+        this.tokens = tokens;
+        this.classes = classes;
+        this.distinct = distinct;
+    }
+
+    public static TokenCorpus generate(int requests, double repeatRatio, double validRatio, long seed) {
+        Random random = new Random(seed);
+        TokenClass[] all = TokenClass.values();
+        String[] tokens = new String[requests];
+        TokenClass[] classes = new TokenClass[requests];
+        int distinct = 0;
+        for (int i = 0; i < requests; i++) {
+            if (i > 0 && random.nextDouble() < repeatRatio) {
+                int previous = random.nextInt(i);
+                tokens[i] = tokens[previous];
+                classes[i] = classes[previous];
+                continue;
+            }
+            TokenClass tokenClass = random.nextDouble() < validRatio
+                    ? TokenClass.VALID
+                    : all[1 + random.nextInt(all.length - 1)];
+            tokens[i] = tokenClass.generate(random);
+            classes[i] = tokenClass;
+            distinct++;
+        }
+        return new TokenCorpus(tokens, classes, distinct);
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public int distinct() {
+        return distinct;
+    }
+
+    public String token(int request) {
+        return tokens[request];
+    }
+
+    public TokenClass tokenClass(int request) {
+        return classes[request];
+    }
+}
@@ -1,11 +1,16 @@
 package com.jwt.validator;
 
+import com.jwt.validator.cli.ValidateFileCommand;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 
+import java.util.Arrays;
+
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @OpenAPIDefinition(info = @Info(
     title = "JWT Validation API",
     version = "1.0",
@@ -13,6 +18,9 @@ import io.swagger.v3.oas.annotations.info.Info;
 ))
 public class JwtValidatorApplication {
     public static void main(String[] args) {
+        if (args.length > 0 && ValidateFileCommand.NAME.equals(args[0])) {
+            System.exit(ValidateFileCommand.run(Arrays.copyOfRange(args, 1, args.length), System.out));
+        }
         SpringApplication.run(JwtValidatorApplication.class, args);
     }
 }
\ No newline at end of file
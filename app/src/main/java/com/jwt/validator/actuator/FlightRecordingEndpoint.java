@@ -0,0 +1,166 @@
+package com.jwt.validator.actuator;
+
+import com.jwt.validator.config.FlightRecordingProperties;
+import com.jwt.validator.utils.logs.LogManager;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: an on-demand Flight Recorder recording, bounded in time and size
+ * by {@code jwt.jfr.max-duration} and {@code jwt.jfr.max-size}, that holds the JDK's
+ * default events plus the validation events of
+ * {@link com.jwt.validator.service.jwt.metrics.ValidationFlightRecorder}.
+ *
+ * <ul>
+ *     <li>{@code POST} starts the recording, or reports the one already running</li>
+ *     <li>{@code GET} downloads what has been recorded so far as a {@code .jfr} file, also
+ *     after the recording stopped by itself</li>
+ *     <li>{@code DELETE} stops and discards the recording</li>
+ * </ul>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    static final String RECORDING_NAME = "jwt-validator";
+
+    private static final LogManager<FlightRecordingEndpoint> log = new LogManager<>(FlightRecordingEndpoint.class);
+    private static final String[] VALIDATION_EVENTS = {
+            "com.jwt.validator.Validation", "com.jwt.validator.ValidationStage"};
+
+    private final FlightRecordingProperties properties;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(FlightRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start() throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(recording));
+        }
+        close();
+        Recording started = new Recording(Configuration.getConfiguration("default"));
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxSize(properties.maxSize().toBytes());
+        started.setDuration(properties.maxDuration());
+        for (String event : VALIDATION_EVENTS) {
+            started.enable(event).withoutStackTrace();
+        }
+        started.start();
+        recording = started;
+        log.info("Flight recording started", properties.maxDuration());
+        return new WebEndpointResponse<>(status(started));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+            long size = Files.size(file);
+            // The open stream keeps the dump readable after the file is unlinked below, so
+            // nothing stays on disk whether or not the client reads the response.
+            InputStream dump = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            return new WebEndpointResponse<>(new DumpResource(dump, file.getFileName().toString(), size));
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Map<String, Object> status = status(recording);
+        close();
+        log.info("Flight recording discarded");
+        return new WebEndpointResponse<>(status);
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> status(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("maxDuration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    /**
+     * Unlinks the dump right away; where an open file cannot be deleted, it goes when its
+     * stream is closed instead.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Flight recording dump left until its stream is closed", file);
+        }
+    }
+
+    /**
+     * A dump served once from a stream over its already deleted file.
+     */
+    private static final class DumpResource extends InputStreamResource {
+
+        private final String filename;
+        private final long size;
+
+        DumpResource(InputStream dump, String filename, long size) {
+            super(dump);
+            this.filename = filename;
+            this.size = size;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.jwt.validator.binary;
+
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * State of one {@link BinaryProtocol} connection, only ever touched by the selector thread
+ * that owns it. The input buffer always fits one whole frame, so a frame never has to be
+ * reassembled elsewhere; answers accumulate in the output buffer and are flushed once
+ * every complete frame read so far has been served.
+ */
+final class BinaryConnection {
+
+    private static final LogManager<BinaryConnection> log = new LogManager<>(BinaryConnection.class);
+    private static final int OUTPUT_CAPACITY = BinaryProtocol.RESPONSE_BYTES * 512;
+
+    private final SocketChannel channel;
+    private final JwtValidationService validationService;
+    private final int maxFrameLength;
+    private final ByteBuffer input;
+    private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_CAPACITY);
+    private boolean inputClosed;
+    private boolean badFrame;
+
+    BinaryConnection(SocketChannel channel, JwtValidationService validationService, int maxFrameLength) {
+        this.channel = channel;
+        this.validationService = validationService;
+        this.maxFrameLength = maxFrameLength;
+        this.input = ByteBuffer.allocate(BinaryProtocol.LENGTH_BYTES + maxFrameLength);
+    }
+
+    /**
+     * Reads what is available when {@code readable}, serves every complete frame and
+     * flushes the answers. Frames already received when the client closes its side are
+     * still answered before the connection is closed.
+     *
+     * @return the operations to wait for next, or {@code 0} when the connection must be closed
+     */
+    int onReady(boolean readable) throws IOException {
+        if (readable && !inputClosed && channel.read(input) < 0) {
+            inputClosed = true;
+        }
+        boolean outputFull;
+        do {
+            outputFull = serveFrames();
+            output.flip();
+            channel.write(output);
+            output.compact();
+            if (output.position() > 0) {
+                return SelectionKey.OP_WRITE;
+            }
+        } while (outputFull);
+        return inputClosed || badFrame ? 0 : SelectionKey.OP_READ;
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close binary protocol connection", e.getMessage());
+        }
+    }
+
+    /**
+     * @return {@code true} when serving stopped because the output buffer is full
+     */
+    private boolean serveFrames() {
+        input.flip();
+        try {
+            while (input.remaining() >= BinaryProtocol.LENGTH_BYTES && !badFrame) {
+                if (output.remaining() < BinaryProtocol.RESPONSE_BYTES) {
+                    return true;
+                }
+                int length = input.getInt(input.position());
+                if (length < 0 || length > maxFrameLength) {
+                    log.warn("Binary protocol frame rejected", length);
+                    BinaryProtocol.writeBadFrame(output);
+                    badFrame = true;
+                    input.position(input.limit());
+                    return false;
+                }
+                if (input.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+                    return false;
+                }
+                int start = input.position() + BinaryProtocol.LENGTH_BYTES;
+                String token = new String(input.array(), start, length, StandardCharsets.ISO_8859_1);
+                input.position(start + length);
+                BinaryProtocol.writeResult(validate(token), output);
+            }
+            return false;
+        } finally {
+            input.compact();
+        }
+    }
+
+    /**
+     * Each frame is a request of its own, so it gets a fresh correlation id, removed once
+     * answered so the selector thread never carries one between frames.
+     */
+    private ValidationResult validate(String token) {
+        RequestUUIDHolder.clear();
+        RequestUUIDHolder.setUuid(RequestUUIDHolder.newUuid());
+        try {
+            return validationService.validate(token);
+        } catch (RuntimeException e) {
+            log.error("Unexpected exception serving binary protocol frame", e.getMessage());
+            return ValidationResult.ERROR;
+        } finally {
+            RequestUUIDHolder.clear();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jwt.validator.binary;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.ValidationResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the binary validation protocol.
+ *
+ * <p>A request frame is a 4-byte big-endian length followed by that many bytes of token,
+ * in ASCII. Every request frame is answered, in order, with exactly two bytes: a status
+ * and a reason code. Clients may pipeline any number of frames on one connection.</p>
+ *
+ * <p>A frame whose length is negative or above the configured maximum cannot be skipped
+ * safely, so it is answered with {@link #STATUS_BAD_FRAME} and the connection is closed.</p>
+ *
+ * <p>Status and reason codes are part of the protocol and must never be renumbered.</p>
+ */
+public final class BinaryProtocol {
+
+    public static final int LENGTH_BYTES = 4;
+    public static final int RESPONSE_BYTES = 2;
+
+    public static final byte STATUS_VALID = 0;
+    public static final byte STATUS_INVALID = 1;
+    public static final byte STATUS_ERROR = 2;
+    public static final byte STATUS_BAD_FRAME = 3;
+
+    public static final byte NO_REASON = 0;
+
+    private BinaryProtocol() {
+    }
+
+    public static void writeResult(ValidationResult result, ByteBuffer out) {
+        byte status = result.isValid() ? STATUS_VALID : result == ValidationResult.ERROR ? STATUS_ERROR : STATUS_INVALID;
+        out.put(status).put(result.reason() != null ? reasonCode(result.reason()) : NO_REASON);
+    }
+
+    public static void writeBadFrame(ByteBuffer out) {
+        out.put(STATUS_BAD_FRAME).put(NO_REASON);
+    }
+
+    /**
+     * @return the wire code of {@code reason}; {@link #NO_REASON} is never used for a reason
+     */
+    public static byte reasonCode(RejectionReason reason) {
+        return switch (reason) {
+            case STRUCTURE -> 1;
+            case HEADER -> 2;
+            case BASE64 -> 3;
+            case JSON -> 4;
+            case NAME -> 5;
+            case ROLE -> 6;
+            case SEED -> 7;
+            case SIGNATURE -> 8;
+            case SIZE -> 9;
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package com.jwt.validator.binary;
+
+import com.jwt.validator.config.BinaryProtocolProperties;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.utils.logs.LogManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Optional listener serving {@link BinaryProtocol} next to the HTTP endpoints, for callers
+ * such as sidecars that validate a token on every request and cannot afford HTTP framing.
+ * An acceptor thread hands each connection to one of a few selector threads, which read
+ * frames, validate them inline through {@link JwtValidationService} and write the answers
+ * back in order. A connection whose answers cannot be written is not read from until they
+ * are, so a slow client only slows itself down.
+ */
+@Component
+public class BinaryProtocolServer {
+
+    private static final LogManager<BinaryProtocolServer> log = new LogManager<>(BinaryProtocolServer.class);
+
+    private final JwtValidationService validationService;
+    private final BinaryProtocolProperties properties;
+
+    private ServerSocketChannel serverChannel;
+    private EventLoop[] eventLoops;
+    private int nextEventLoop;
+
+    public BinaryProtocolServer(JwtValidationService validationService, BinaryProtocolProperties properties) {
+        this.validationService = validationService;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        int loops = properties.eventLoops() > 0
+                ? properties.eventLoops()
+                : Runtime.getRuntime().availableProcessors();
+        eventLoops = new EventLoop[loops];
+        for (int i = 0; i < loops; i++) {
+            eventLoops[i] = new EventLoop(Selector.open());
+            Thread thread = new Thread(eventLoops[i], "binary-protocol-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(properties.host() == null || properties.host().isBlank()
+                ? new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.port())
+                : new InetSocketAddress(properties.host(), properties.port()));
+        Thread acceptor = new Thread(this::accept, "binary-protocol-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Binary protocol listening", serverChannel.getLocalAddress());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (serverChannel == null) {
+            return;
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close binary protocol listener", e.getMessage());
+        }
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+
+    /**
+     * @return the port the listener is bound to, or {@code -1} when it is not running
+     */
+    int port() {
+        return serverChannel != null ? serverChannel.socket().getLocalPort() : -1;
+    }
+
+    /**
+     * Hands {@code channel} to the next event loop, round-robin. Only called from the
+     * acceptor thread.
+     */
+    void dispatch(SocketChannel channel) {
+        eventLoops[nextEventLoop].register(channel);
+        nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+    }
+
+    private void accept() {
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                dispatch(channel);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Failed to accept binary protocol connection", e.getMessage());
+            }
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerPending();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        serve(key);
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                log.error("Binary protocol event loop stopped", e.getMessage());
+            } finally {
+                closeAll();
+            }
+        }
+
+        private void closeAll() {
+            for (SelectionKey key : selector.keys()) {
+                ((BinaryConnection) key.attachment()).close();
+            }
+            try {
+                SocketChannel channel;
+                while ((channel = pending.poll()) != null) {
+                    channel.close();
+                }
+                selector.close();
+            } catch (IOException e) {
+                log.warn("Failed to close binary protocol connections", e.getMessage());
+            }
+        }
+
+        /**
+         * Registers the channels handed over since the last pass. A channel that cannot be
+         * registered is closed on its own; the loop keeps serving the others.
+         */
+        private void registerPending() {
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                try {
+                    channel.configureBlocking(false);
+                    BinaryConnection connection = new BinaryConnection(channel, validationService, properties.maxFrameLength());
+                    channel.register(selector, SelectionKey.OP_READ, connection);
+                } catch (IOException e) {
+                    log.warn("Failed to register binary protocol connection", e.getMessage());
+                    closeQuietly(channel);
+                }
+            }
+        }
+
+        private void closeQuietly(SocketChannel channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close binary protocol connection", e.getMessage());
+            }
+        }
+
+        private void serve(SelectionKey key) {
+            BinaryConnection connection = (BinaryConnection) key.attachment();
+            try {
+                int interest = key.isValid() ? connection.onReady(key.isReadable()) : 0;
+                if (interest == 0) {
+                    connection.close();
+                } else {
+                    key.interestOps(interest);
+                }
+            } catch (IOException e) {
+                log.debug("Binary protocol connection dropped", e.getMessage());
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.jwt.validator.cli;
+
+import com.jwt.validator.service.jwt.ValidationResult;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of validating a token file: how many lines were valid, rejected for each
+ * reason or failed unexpectedly, and how fast they were validated.
+ *
+ * @param rejections      rejected lines per {@link com.jwt.validator.service.jwt.RejectionReason#tag()}
+ * @param tokensPerSecond lines validated per second of wall-clock time
+ */
+public record FileValidationSummary(
+        String file,
+        long bytes,
+        long lines,
+        long valid,
+        long errors,
+        Map<String, Long> rejections,
+        double elapsedSeconds,
+        double tokensPerSecond,
+        int parallelism
+) {
+
+    static FileValidationSummary of(Path file, long bytes, long[] counts, long elapsedNanos, int parallelism) {
+        long lines = 0;
+        Map<String, Long> rejections = new LinkedHashMap<>();
+        for (ValidationResult result : ValidationResult.values()) {
+            long count = counts[result.ordinal()];
+            lines += count;
+            if (result.reason() != null) {
+                rejections.put(result.reason().tag(), count);
+            }
+        }
+        double elapsedSeconds = elapsedNanos / 1e9;
+        return new FileValidationSummary(file.toString(), bytes, lines,
+                counts[ValidationResult.VALID.ordinal()], counts[ValidationResult.ERROR.ordinal()],
+                rejections, elapsedSeconds, elapsedSeconds > 0 ? lines / elapsedSeconds : 0, parallelism);
+    }
+
+    /**
+     * @return how a line with {@code result} is reported: {@code valid}, the rejection
+     *         reason tag, or {@code error}
+     */
+    static String label(ValidationResult result) {
+        if (result.isValid()) {
+            return "valid";
+        }
+        return result.reason() != null ? result.reason().tag() : "error";
+    }
+}
@@ -0,0 +1,318 @@
+package com.jwt.validator.cli;
+
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates a file of newline-separated tokens through {@link JwtValidationService}. The
+ * file is split at line boundaries into chunks of about {@code chunkBytes}, each chunk is
+ * memory-mapped and validated on its own, and chunks run in parallel on a dedicated
+ * {@link ForkJoinPool}. A chunk that cannot be split, such as one huge line, is mapped a
+ * window at a time, and data beyond the maximum line length is answered as oversized.
+ * Results are kept as one byte per line, so asking for per-line results costs memory
+ * proportional to the line count, not to the file size.
+ *
+ * <p>Lines holding only spaces, tabs or a carriage return are skipped, as the NDJSON
+ * stream endpoint does: they are neither validated nor counted, so both batch paths
+ * report the same totals for the same tokens. They still get an empty line in the
+ * results file, so that line N of the results answers line N of the input.</p>
+ */
+public final class TokenFileValidator {
+
+    static final int DEFAULT_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    private static final LogManager<TokenFileValidator> log = new LogManager<>(TokenFileValidator.class);
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    private static final int BLOCK_BYTES = 64 * 1024;
+    private static final ValidationResult[] RESULTS = ValidationResult.values();
+    /**
+     * Result of a blank line, which is written as an empty line but not counted.
+     */
+    private static final byte BLANK = -1;
+
+    private final JwtValidationService validationService;
+    private final int parallelism;
+    private final int chunkBytes;
+
+    public TokenFileValidator(JwtValidationService validationService, int parallelism) {
+        this(validationService, parallelism, DEFAULT_CHUNK_BYTES);
+    }
+
+    TokenFileValidator(JwtValidationService validationService, int parallelism, int chunkBytes) {
+        this.validationService = validationService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Validates every line of {@code input}, writing one result per line to
+     * {@code results} when it is not {@code null}.
+     */
+    public FileValidationSummary validate(Path input, Path results) throws IOException {
+        long start = System.nanoTime();
+        ChunkResult total;
+        long size;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            size = channel.size();
+            total = pool.invoke(new ChunkTask(validationService, chunkBytes, channel, 0, size, results != null));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (results != null) {
+            writeResults(total.results(), results);
+        }
+        log.info("Token file validated", total.lines() + " lines from " + input);
+        return FileValidationSummary.of(input, size, total.counts(), elapsedNanos, parallelism);
+    }
+
+    private static void writeResults(List<byte[]> segments, Path results) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(results, StandardCharsets.US_ASCII)) {
+            for (byte[] segment : segments) {
+                for (byte ordinal : segment) {
+                    if (ordinal != BLANK) {
+                        writer.write(FileValidationSummary.label(RESULTS[ordinal]));
+                    }
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates the lines in {@code [start, end)}, both of which are line starts, halving
+     * the range at a line boundary until it is no larger than a chunk. Tasks only live
+     * within one run of the pool and are never serialized, hence the transient service
+     * and channel.
+     */
+    private static final class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient JwtValidationService validationService;
+        private final int chunkBytes;
+        private final transient FileChannel channel;
+        private final long start;
+        private final long end;
+        private final boolean keepResults;
+
+        ChunkTask(JwtValidationService validationService, int chunkBytes, FileChannel channel,
+                  long start, long end, boolean keepResults) {
+            this.validationService = validationService;
+            this.chunkBytes = chunkBytes;
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.keepResults = keepResults;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            try {
+                if (end - start > chunkBytes) {
+                    long middle = nextLineStart(start + (end - start) / 2);
+                    if (middle < end) {
+                        ChunkTask left = subTask(start, middle);
+                        left.fork();
+                        ChunkResult right = subTask(middle, end).compute();
+                        return left.join().append(right);
+                    }
+                }
+                return validateChunk();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private ChunkTask subTask(long from, long to) {
+            return new ChunkTask(validationService, chunkBytes, channel, from, to, keepResults);
+        }
+
+        private long nextLineStart(long from) throws IOException {
+            ByteBuffer block = ByteBuffer.allocate(4096);
+            long position = from;
+            while (position < end) {
+                block.clear();
+                int read = channel.read(block, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read && position + i < end; i++) {
+                    if (block.get(i) == '\n') {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            return end;
+        }
+
+        /**
+         * Maps the range a window of at most a chunk plus a maximum line at a time, so an
+         * unsplittable range never maps more than that; a line may span two windows.
+         */
+        private ChunkResult validateChunk() throws IOException {
+            ChunkResult result = new ChunkResult(keepResults);
+            long window = Math.min((long) chunkBytes + MAX_LINE_BYTES, Integer.MAX_VALUE);
+            byte[] block = new byte[BLOCK_BYTES];
+            byte[] line = new byte[MAX_LINE_BYTES];
+            int length = 0;
+            boolean tooLong = false;
+            for (long position = start; position < end; position += window) {
+                MappedByteBuffer region = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(window, end - position));
+                while (region.hasRemaining()) {
+                    int count = Math.min(block.length, region.remaining());
+                    region.get(block, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        byte b = block[i];
+                        if (b == '\n') {
+                            addLine(result, line, length, tooLong);
+                            length = 0;
+                            tooLong = false;
+                        } else if (length < line.length) {
+                            line[length++] = b;
+                        } else {
+                            tooLong = true;
+                        }
+                    }
+                }
+            }
+            if (length > 0 || tooLong) {
+                addLine(result, line, length, tooLong);
+            }
+            return result;
+        }
+
+        private void addLine(ChunkResult result, byte[] line, int length, boolean tooLong) {
+            if (tooLong || !isBlank(line, length)) {
+                result.add(validateLine(line, length, tooLong));
+            } else {
+                result.addBlank();
+            }
+        }
+
+        /**
+         * Each line is validated under a fresh correlation id, removed afterwards so pool
+         * workers never carry one from line to line.
+         */
+        private ValidationResult validateLine(byte[] line, int length, boolean tooLong) {
+            if (tooLong) {
+                return ValidationResult.INVALID_SIZE;
+            }
+            int trimmed = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            RequestUUIDHolder.clear();
+            RequestUUIDHolder.setUuid(RequestUUIDHolder.newUuid());
+            try {
+                return validationService.validate(new String(line, 0, trimmed, StandardCharsets.ISO_8859_1));
+            } catch (RuntimeException e) {
+                log.error("Unexpected exception validating token file line", e.getMessage());
+                return ValidationResult.ERROR;
+            } finally {
+                RequestUUIDHolder.clear();
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts per {@link ValidationResult} of a range of lines and, when kept, the result
+     * of each line in order, {@link #BLANK} for blank lines.
+     */
+    private static final class ChunkResult {
+
+        private final long[] counts = new long[RESULTS.length];
+        private final List<byte[]> results = new ArrayList<>();
+        private final boolean keepResults;
+        private byte[] current;
+        private int currentLength;
+
+        ChunkResult(boolean keepResults) {
+            this.keepResults = keepResults;
+        }
+
+        void add(ValidationResult result) {
+            counts[result.ordinal()]++;
+            keep((byte) result.ordinal());
+        }
+
+        void addBlank() {
+            keep(BLANK);
+        }
+
+        private void keep(byte ordinal) {
+            if (!keepResults) {
+                return;
+            }
+            if (current == null || currentLength == current.length) {
+                seal();
+                current = new byte[BLOCK_BYTES];
+            }
+            current[currentLength++] = ordinal;
+        }
+
+        ChunkResult append(ChunkResult next) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += next.counts[i];
+            }
+            seal();
+            next.seal();
+            results.addAll(next.results);
+            return this;
+        }
+
+        long[] counts() {
+            return counts;
+        }
+
+        long lines() {
+            long lines = 0;
+            for (long count : counts) {
+                lines += count;
+            }
+            return lines;
+        }
+
+        List<byte[]> results() {
+            seal();
+            return results;
+        }
+
+        private void seal() {
+            if (current != null && currentLength > 0) {
+                results.add(currentLength == current.length ? current : Arrays.copyOf(current, currentLength));
+            }
+            current = null;
+            currentLength = 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.jwt.validator.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.JwtValidatorApplication;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code validate-file} command: validates a token file offline with the same
+ * {@link JwtValidationService}, claim rules and prime check as the web application,
+ * started without a web server. Options are {@code --input} (required), {@code --results}
+ * (one result per non-blank line), {@code --summary} (JSON summary, also printed) and
+ * {@code --parallelism}; any other {@code --name=value} argument is passed to Spring, e.g.
+ * {@code --jwt.claims.rules-path}.
+ *
+ * <p>The command must not touch state belonging to a running service, so the cache
+ * snapshot, the host-shared cache, the binary protocol listener and rules and JWKS reload
+ * polling are switched off with {@link #OFFLINE_PROPERTIES}, which take precedence over
+ * every other property source, environment variables included.</p>
+ */
+public final class ValidateFileCommand {
+
+    public static final String NAME = "validate-file";
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int USAGE = 2;
+
+    static final Map<String, Object> OFFLINE_PROPERTIES = Map.of(
+            "jwt.validation.cache.snapshot.path", "",
+            "jwt.validation.cache.shared.path", "",
+            "jwt.binary.enabled", "false",
+            "jwt.claims.reload-interval", "0s",
+            "jwt.signature.reload-interval", "0s");
+
+    private static final String USAGE_TEXT = "usage: " + NAME
+            + " --input=<tokens file> [--results=<file>] [--summary=<file>] [--parallelism=<n>] [--<spring property>=<value>]";
+
+    private ValidateFileCommand() {
+    }
+
+    /**
+     * @return the process exit code
+     */
+    public static int run(String[] args, PrintStream out) {
+        Path input = null;
+        Path results = null;
+        Path summary = null;
+        int parallelism = 0;
+        List<String> springArgs = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--input=")) {
+                    input = Path.of(value(arg));
+                } else if (arg.startsWith("--results=")) {
+                    results = Path.of(value(arg));
+                } else if (arg.startsWith("--summary=")) {
+                    summary = Path.of(value(arg));
+                } else if (arg.startsWith("--parallelism=")) {
+                    parallelism = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--") && arg.contains("=")) {
+                    springArgs.add(arg);
+                } else {
+                    throw new IllegalArgumentException("unexpected argument " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            out.println(USAGE_TEXT);
+            return USAGE;
+        }
+        if (input == null || !Files.isRegularFile(input)) {
+            out.println(input == null ? "--input is required" : "no such file: " + input);
+            out.println(USAGE_TEXT);
+            return USAGE;
+        }
+
+        SpringApplication application = new SpringApplication(JwtValidatorApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "spring.main.banner-mode", "off",
+                "logging.level.com.jwt.validator", "ERROR"));
+        application.addInitializers(context -> context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource(NAME, OFFLINE_PROPERTIES)));
+        try (ConfigurableApplicationContext context = application.run(springArgs.toArray(String[]::new))) {
+            TokenFileValidator validator = new TokenFileValidator(context.getBean(JwtValidationService.class), parallelism);
+            String json = new ObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(validator.validate(input, results));
+            if (summary != null) {
+                Files.writeString(summary, json);
+            }
+            out.println(json);
+            return OK;
+        } catch (IOException e) {
+            out.println("validation failed: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
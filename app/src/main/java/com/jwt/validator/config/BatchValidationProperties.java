@@ -0,0 +1,16 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the batch validation endpoint.
+ *
+ * @param maxSize     largest number of tokens accepted in one request
+ * @param parallelism worker threads used to evaluate a batch; {@code 0} uses one per core
+ */
+@ConfigurationProperties(prefix = "jwt.validation.batch")
+public record BatchValidationProperties(
+        @DefaultValue("100") int maxSize,
+        @DefaultValue("0") int parallelism
+) {}
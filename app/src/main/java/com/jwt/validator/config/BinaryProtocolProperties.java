@@ -0,0 +1,22 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the binary validation protocol listener.
+ *
+ * @param enabled        whether the listener is started
+ * @param host           address the listener binds to; empty binds the loopback address only
+ * @param port           port the listener binds to; {@code 0} picks a free one
+ * @param maxFrameLength largest token accepted in one frame, in bytes
+ * @param eventLoops     selector threads serving connections; {@code 0} uses one per core
+ */
+@ConfigurationProperties(prefix = "jwt.binary")
+public record BinaryProtocolProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String host,
+        @DefaultValue("9090") int port,
+        @DefaultValue("16384") int maxFrameLength,
+        @DefaultValue("0") int eventLoops
+) {}
@@ -0,0 +1,21 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the validation result cache snapshot, which carries cached results over a
+ * restart.
+ *
+ * @param path     file the snapshot is written to and restored from; snapshots are
+ *                 disabled when blank
+ * @param interval how often a snapshot is written while running, besides on shutdown;
+ *                 only on shutdown when zero
+ */
+@ConfigurationProperties(prefix = "jwt.validation.cache.snapshot")
+public record CacheSnapshotProperties(
+        String path,
+        @DefaultValue("5m") Duration interval
+) {}
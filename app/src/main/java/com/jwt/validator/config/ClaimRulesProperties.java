@@ -0,0 +1,19 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the claim rules.
+ *
+ * @param rulesPath      JSON file holding the rules; when blank the bundled
+ *                       {@code claim-rules.json} is used and never reloaded
+ * @param reloadInterval how often the rules file is checked for changes; never when zero
+ */
+@ConfigurationProperties(prefix = "jwt.claims")
+public record ClaimRulesProperties(
+        String rulesPath,
+        @DefaultValue("30s") Duration reloadInterval
+) {}
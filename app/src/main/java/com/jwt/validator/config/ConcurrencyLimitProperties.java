@@ -0,0 +1,30 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit of the single-token validation endpoint.
+ *
+ * @param enabled          whether excess requests are shed at all
+ * @param initialLimit     concurrent requests admitted before any latency was measured
+ * @param minLimit         the limit never shrinks below this
+ * @param maxLimit         the limit never grows above this
+ * @param backoffRatio     factor applied to the limit when latency degrades
+ * @param latencyTolerance how many times the baseline latency a request may take before it counts as degraded
+ * @param latencyFloor     requests faster than this never count as degraded
+ * @param retryAfter       value of {@code Retry-After} on shed requests, rounded up to whole seconds
+ */
+@ConfigurationProperties(prefix = "jwt.validation.concurrency")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("2.0") double latencyTolerance,
+        @DefaultValue("10ms") Duration latencyFloor,
+        @DefaultValue("1s") Duration retryAfter
+) {}
@@ -0,0 +1,24 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the Java Flight Recorder events of the validation pipeline and of the
+ * recordings started through the {@code jfr} actuator endpoint.
+ *
+ * @param slowRequestThreshold validations faster than this commit no event, so a recording
+ *                             only holds the slow ones; every validation is recorded when zero
+ * @param maxDuration          how long an on-demand recording runs before stopping itself
+ * @param maxSize              disk space an on-demand recording may use; older chunks are
+ *                             dropped beyond it
+ */
+@ConfigurationProperties(prefix = "jwt.jfr")
+public record FlightRecordingProperties(
+        @DefaultValue("0ms") Duration slowRequestThreshold,
+        @DefaultValue("5m") Duration maxDuration,
+        @DefaultValue("64MB") DataSize maxSize
+) {}
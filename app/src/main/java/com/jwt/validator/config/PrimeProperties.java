@@ -0,0 +1,16 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the primality check.
+ *
+ * @param sieveLimit numbers below this are answered from a precomputed sieve holding one
+ *                   bit per odd number ({@code sieveLimit / 16} bytes); larger numbers
+ *                   use deterministic Miller-Rabin
+ */
+@ConfigurationProperties(prefix = "jwt.prime")
+public record PrimeProperties(
+        @DefaultValue("1048576") int sieveLimit
+) {}
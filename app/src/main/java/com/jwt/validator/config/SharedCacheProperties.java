@@ -0,0 +1,19 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the validation result cache shared by the processes of one host through a
+ * memory-mapped file.
+ *
+ * @param path  file mapped by every process sharing the cache, e.g. on a volume mounted by
+ *              all containers of the host; disabled when blank
+ * @param slots number of entries of the table, rounded up to a power of two and at most
+ *              2^24; must be the same in every process mapping the file
+ */
+@ConfigurationProperties(prefix = "jwt.validation.cache.shared")
+public record SharedCacheProperties(
+        String path,
+        @DefaultValue("65536") int slots
+) {}
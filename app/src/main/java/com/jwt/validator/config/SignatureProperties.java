@@ -0,0 +1,24 @@
+package com.jwt.validator.config;
+
+import com.jwt.validator.service.jwt.signature.JwsAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings of JWS signature verification.
+ *
+ * @param enabled           whether signatures are verified at all
+ * @param jwksPath          local JWKS file holding the verification keys
+ * @param allowedAlgorithms {@code alg} header values accepted before any crypto runs
+ * @param reloadInterval    how often the JWKS file is checked for changes; never when zero
+ */
+@ConfigurationProperties(prefix = "jwt.signature")
+public record SignatureProperties(
+        @DefaultValue("false") boolean enabled,
+        String jwksPath,
+        @DefaultValue({"HS256", "RS256", "ES256"}) Set<JwsAlgorithm> allowedAlgorithms,
+        @DefaultValue("30s") Duration reloadInterval
+) {}
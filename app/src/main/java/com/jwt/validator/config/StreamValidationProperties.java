@@ -0,0 +1,15 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the streaming NDJSON validation endpoint.
+ *
+ * @param maxLineLength longest request line read, in bytes; longer lines are answered as
+ *                      oversized without being buffered
+ */
+@ConfigurationProperties(prefix = "jwt.validation.stream")
+public record StreamValidationProperties(
+        @DefaultValue("16448") int maxLineLength
+) {}
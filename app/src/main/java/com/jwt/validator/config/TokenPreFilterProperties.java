@@ -0,0 +1,20 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits enforced on a raw token before anything is decoded.
+ *
+ * @param enabled          whether tokens are pre-filtered at all
+ * @param maxTokenLength   longest token accepted, in characters
+ * @param maxSegmentLength longest header, payload or signature segment accepted, in characters
+ * @param maxPayloadBytes  largest decoded payload accepted, in bytes
+ */
+@ConfigurationProperties(prefix = "jwt.validation.prefilter")
+public record TokenPreFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16384") int maxTokenLength,
+        @DefaultValue("8192") int maxSegmentLength,
+        @DefaultValue("4096") int maxPayloadBytes
+) {}
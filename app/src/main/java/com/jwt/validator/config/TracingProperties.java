@@ -0,0 +1,31 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How much of each request is written to the active span.
+ *
+ * @param validSampleRate    share of valid tokens whose span is tagged, from 0 to 1
+ * @param rejectedSampleRate share of rejected tokens whose span is tagged, from 0 to 1;
+ *                           low by default so a flood of bad tokens does not grow trace
+ *                           payloads with it
+ * @param errorSampleRate    share of unexpected failures whose span is tagged, from 0 to 1
+ * @param maxTagLength       longest tag value, in UTF-8 bytes, written as is; longer values
+ *                           are cut to this length and tagged with their length and a hash of
+ *                           the whole value
+ * @param dropUnsampled      also mark unsampled spans so the agent drops their trace
+ * @param flushInterval      how often the number of unsampled events is logged; never when
+ *                           zero
+ */
+@ConfigurationProperties(prefix = "jwt.tracing")
+public record TracingProperties(
+        @DefaultValue("1.0") double validSampleRate,
+        @DefaultValue("0.1") double rejectedSampleRate,
+        @DefaultValue("1.0") double errorSampleRate,
+        @DefaultValue("256") int maxTagLength,
+        @DefaultValue("false") boolean dropUnsampled,
+        @DefaultValue("1m") Duration flushInterval
+) {}
@@ -0,0 +1,25 @@
+package com.jwt.validator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the validation result cache.
+ *
+ * @param enabled          whether results are cached at all
+ * @param maximumSize      maximum number of cached results
+ * @param expireAfterWrite how long a result is reused after it was computed
+ * @param maxTokenLength   tokens longer than this are validated but never cached
+ * @param digestKey        128-bit SipHash key in hex; random per process when blank.
+ *                         Must be shared by every process that reuses digests.
+ */
+@ConfigurationProperties(prefix = "jwt.validation.cache")
+public record ValidationCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration expireAfterWrite,
+        @DefaultValue("4096") int maxTokenLength,
+        String digestKey
+) {}
@@ -1,34 +1,105 @@
 package com.jwt.validator.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jwt.validator.dto.request.BatchValidationRequestDTO;
 import com.jwt.validator.dto.request.ValidationRequestDTO;
+import com.jwt.validator.dto.response.BatchValidationResponseDTO;
+import com.jwt.validator.dto.response.ValidationDetailResponseDTO;
+import com.jwt.validator.service.jwt.BatchValidationService;
 import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.StreamValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/validate")
 @RequiredArgsConstructor
 public class ValidationController {
 
+    private static final Map<ValidationResult, ResponseEntity<ValidationDetailResponseDTO>> DETAIL_RESPONSES =
+            detailResponses();
+
     private final JwtValidationService jwtValidationService;
+    private final BatchValidationService batchValidationService;
+    private final StreamValidationService streamValidationService;
 
     @Operation(summary = "Validate JWT token", description = "Checks if JWT meets all validation rules")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Token is valid",
                     content = @Content(schema = @Schema(implementation = Boolean.class))),
             @ApiResponse(responseCode = "400", description = "Token is invalid or malformed",
-                    content = @Content(schema = @Schema(implementation = Boolean.class)))
+                    content = @Content(schema = @Schema(implementation = Boolean.class))),
+            @ApiResponse(responseCode = "503", description = "Shed by the concurrency limit; retry after the Retry-After delay")
     })
     @GetMapping
-    public ResponseEntity<Boolean> validateJwt(@Valid ValidationRequestDTO validationRequest) throws JsonProcessingException {
+    public ResponseEntity<Boolean> validateJwt(@Valid ValidationRequestDTO validationRequest) {
         return jwtValidationService.validateJwt(validationRequest.token());
     }
+
+    @Operation(summary = "Validate JWT token with details",
+            description = "Same checks as the plain validation, answered with the rejection reason and failed claim")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token is valid",
+                    content = @Content(schema = @Schema(implementation = ValidationDetailResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Token is invalid or malformed",
+                    content = @Content(schema = @Schema(implementation = ValidationDetailResponseDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Shed by the concurrency limit; retry after the Retry-After delay")
+    })
+    @GetMapping(params = "detail=true")
+    public ResponseEntity<ValidationDetailResponseDTO> validateJwtWithDetail(@Valid ValidationRequestDTO validationRequest) {
+        return DETAIL_RESPONSES.get(jwtValidationService.validate(validationRequest.token()));
+    }
+
+    @Operation(summary = "Validate a batch of JWT tokens",
+            description = "Validates every token in parallel and returns one result per token, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-token results",
+                    content = @Content(schema = @Schema(implementation = BatchValidationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Batch is empty or malformed"),
+            @ApiResponse(responseCode = "413", description = "Batch exceeds the configured maximum size")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchValidationResponseDTO> validateBatch(@Valid @RequestBody BatchValidationRequestDTO batchRequest) {
+        // Oversized batches are refused while being read, see BatchTokensDeserializer.
+        return ResponseEntity.ok(new BatchValidationResponseDTO(batchValidationService.validateAll(batchRequest.tokens())));
+    }
+
+    @Operation(summary = "Validate a stream of JWT tokens",
+            description = "Reads NDJSON lines, either {\"token\":\"...\"} or a JSON string, and streams one NDJSON "
+                    + "detailed result per line back, in order, while the request is still being read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One result per non-blank line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ValidationDetailResponseDTO.class)))
+    })
+    @PostMapping(path = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validateStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        streamValidationService.validateAll(body, response.getOutputStream());
+    }
+
+    private static Map<ValidationResult, ResponseEntity<ValidationDetailResponseDTO>> detailResponses() {
+        Map<ValidationResult, ResponseEntity<ValidationDetailResponseDTO>> responses = new EnumMap<>(ValidationResult.class);
+        for (ValidationResult result : ValidationResult.values()) {
+            HttpStatus status = result.isValid() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+            responses.put(result, ResponseEntity.status(status).body(ValidationDetailResponseDTO.of(result)));
+        }
+        return responses;
+    }
 }
@@ -0,0 +1,50 @@
+package com.jwt.validator.dto.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.jwt.validator.exceprions.BatchTooLargeException;
+import com.jwt.validator.service.jwt.BatchValidationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the tokens of a batch request, failing with {@link BatchTooLargeException} at the
+ * first token beyond {@link BatchValidationService#maxBatchSize()}: an oversized batch is
+ * refused while it is being read instead of after it has been held in memory. Created by
+ * Spring's handler instantiator, which supplies the service.
+ */
+public class BatchTokensDeserializer extends JsonDeserializer<List<String>> {
+
+    private final int maxSize;
+
+    public BatchTokensDeserializer(BatchValidationService batchValidationService) {
+        this.maxSize = batchValidationService.maxBatchSize();
+    }
+
+    @Override
+    public List<String> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return context.reportInputMismatch(this, "Tokens must be an array of strings");
+        }
+        List<String> tokens = new ArrayList<>();
+        JsonToken next;
+        while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (tokens.size() == maxSize) {
+                throw new BatchTooLargeException(parser, maxSize);
+            }
+            if (next == JsonToken.VALUE_NULL) {
+                // Left to @NotNull, which answers it like any other invalid request.
+                tokens.add(null);
+            } else if (next == JsonToken.VALUE_STRING) {
+                tokens.add(parser.getText());
+            } else {
+                return context.reportInputMismatch(this, "Tokens must be an array of strings");
+            }
+        }
+        return tokens;
+    }
+}
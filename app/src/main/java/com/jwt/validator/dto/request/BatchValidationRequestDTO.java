@@ -0,0 +1,13 @@
+package com.jwt.validator.dto.request;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BatchValidationRequestDTO(
+        @NotEmpty(message = "Tokens cannot be empty")
+        @JsonDeserialize(using = BatchTokensDeserializer.class)
+        List<@NotNull(message = "Tokens cannot be null") String> tokens
+) {}
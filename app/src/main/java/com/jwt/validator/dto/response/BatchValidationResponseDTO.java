@@ -0,0 +1,7 @@
+package com.jwt.validator.dto.response;
+
+import java.util.List;
+
+public record BatchValidationResponseDTO(
+        List<Boolean> results
+) {}
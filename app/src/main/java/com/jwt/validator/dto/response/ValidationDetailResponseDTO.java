@@ -0,0 +1,19 @@
+package com.jwt.validator.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jwt.validator.service.jwt.ValidationResult;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ValidationDetailResponseDTO(
+        boolean valid,
+        String reason,
+        String claim
+) {
+    public static ValidationDetailResponseDTO of(ValidationResult result) {
+        String reason = result.reason() != null ? result.reason().tag() : null;
+        if (result == ValidationResult.ERROR) {
+            reason = "error";
+        }
+        return new ValidationDetailResponseDTO(result.isValid(), reason, result.failedClaim());
+    }
+}
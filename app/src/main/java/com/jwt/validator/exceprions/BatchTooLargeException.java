@@ -0,0 +1,15 @@
+package com.jwt.validator.exceprions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Thrown while reading a batch request as soon as it holds more tokens than
+ * {@code jwt.validation.batch.max-size}, so the rest of the array is never read.
+ */
+public class BatchTooLargeException extends JsonMappingException {
+
+    public BatchTooLargeException(JsonParser parser, int maxSize) {
+        super(parser, "Batch exceeds the maximum of " + maxSize + " tokens");
+    }
+}
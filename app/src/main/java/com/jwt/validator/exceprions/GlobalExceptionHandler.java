@@ -2,17 +2,18 @@ package com.jwt.validator.exceprions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.jwt.validator.utils.logs.LogManager;
+import com.jwt.validator.utils.tracing.DataDogUtils;
+import com.jwt.validator.utils.tracing.SpanOutcome;
+import com.jwt.validator.utils.tracing.SpanTag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import static com.jwt.validator.utils.tracing.DataDogUtils.addTag;
-import static com.jwt.validator.utils.tracing.DataDogUtils.startAndLogSpan;
+import static com.jwt.validator.utils.tracing.DataDogUtils.tagSpan;
 
 @ControllerAdvice(basePackages = "com.jwt.validator.controller")
 public class GlobalExceptionHandler {
@@ -21,28 +22,34 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Boolean> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
-        log.warn("Base64 decoding error: {}", ex.getMessage());
-        Map<String, Object> tags = new HashMap<>();
-        addTag(tags, "context.invalid_cause", "Base64 decoding error");
-        startAndLogSpan(tags);
+        log.warn("Base64 decoding error", ex.getMessage());
+        tagSpan(SpanTag.BASE64_ERROR);
         return ResponseEntity.badRequest().body(false);
     }
 
     @ExceptionHandler(JsonProcessingException.class)
     public ResponseEntity<Boolean> handleJsonProcessingException(JsonProcessingException ex, WebRequest request) {
-        log.warn("Invalid JSON payload: {}", ex.getMessage());
-        Map<String, Object> tags = new HashMap<>();
-        addTag(tags, "context.invalid_cause", "Invalid JSON payload");
-        startAndLogSpan(tags);
+        log.warn("Invalid JSON payload", ex.getMessage());
+        tagSpan(SpanTag.INVALID_JSON);
+        return ResponseEntity.badRequest().body(false);
+    }
+
+    @ExceptionHandler({MethodArgumentNotValidException.class, HttpMessageNotReadableException.class})
+    public ResponseEntity<Boolean> handleInvalidRequest(Exception ex, WebRequest request) {
+        if (ex.getCause() instanceof BatchTooLargeException tooLarge) {
+            log.warn("Batch too large", tooLarge.getOriginalMessage());
+            tagSpan(SpanTag.OVERSIZED_BATCH);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        log.warn("Invalid request", ex.getMessage());
+        tagSpan(SpanTag.INVALID_REQUEST);
         return ResponseEntity.badRequest().body(false);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Boolean> handleGenericException(Exception ex, WebRequest request) {
-        log.error("Unexpected exception: {}", ex.getMessage());
-        Map<String, Object> tags = new HashMap<>();
-        addTag(tags, "context.error", ex.getClass().getSimpleName());
-        startAndLogSpan(tags);
+        log.error("Unexpected exception", ex.getMessage());
+        tagSpan(SpanOutcome.ERROR, DataDogUtils.ERROR, ex.getClass().getSimpleName());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(false);
     }
 }
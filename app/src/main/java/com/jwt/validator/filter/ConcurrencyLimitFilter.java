@@ -0,0 +1,88 @@
+package com.jwt.validator.filter;
+
+import com.jwt.validator.config.ConcurrencyLimitProperties;
+import com.jwt.validator.utils.concurrent.AdaptiveConcurrencyLimit;
+import com.jwt.validator.utils.logs.LogManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load on {@value #LIMITED_PATH} before it piles up in Tomcat. Requests are admitted
+ * through an {@link AdaptiveConcurrencyLimit} fed with their measured latency; the ones
+ * that do not fit are answered right away with {@code 503} and {@code Retry-After}, so a
+ * latency spike turns into fast refusals instead of a queue that times out as a whole.
+ *
+ * <p>Publishes {@code jwt.validation.concurrency.limit}, {@code jwt.validation.concurrency.in_flight}
+ * and {@code jwt.validation.concurrency.rejections}.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String LIMITED_PATH = "/api/v1/validate";
+
+    private static final LogManager<ConcurrencyLimitFilter> log = new LogManager<>(ConcurrencyLimitFilter.class);
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.limit = properties.enabled()
+                ? new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+                        properties.backoffRatio(), properties.latencyTolerance(), properties.latencyFloor().toNanos())
+                : null;
+        long millis = properties.retryAfter().toMillis();
+        this.retryAfter = Long.toString(Math.max((millis + 999) / 1000, 1));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limit == null || !LIMITED_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limit.tryAcquire()) {
+            log.debug("Request shed by the concurrency limit", limit.limit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (limit == null) {
+            return;
+        }
+        Gauge.builder("jwt.validation.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent validation requests")
+                .register(registry);
+        Gauge.builder("jwt.validation.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Validation requests being served")
+                .register(registry);
+        FunctionCounter.builder("jwt.validation.concurrency.rejections", limit, AdaptiveConcurrencyLimit::rejections)
+                .description("Validation requests shed with 503")
+                .register(registry);
+    }
+}
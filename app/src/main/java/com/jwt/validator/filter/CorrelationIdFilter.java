@@ -0,0 +1,64 @@
+package com.jwt.validator.filter;
+
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns the correlation id of each request: the incoming {@value #HEADER} when it is a
+ * plausible id, otherwise a freshly generated one. The id is put in the MDC through
+ * {@link RequestUUIDHolder}, echoed in the response and removed when the request
+ * completes, so pooled threads never carry it into the next request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (!isAcceptable(correlationId)) {
+            correlationId = RequestUUIDHolder.newUuid();
+        }
+
+        RequestUUIDHolder.clear();
+        RequestUUIDHolder.setUuid(correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestUUIDHolder.clear();
+        }
+    }
+
+    /**
+     * Incoming ids end up in every log line, so only short tokens made of letters, digits,
+     * {@code -}, {@code _} and {@code .} are trusted.
+     */
+    static boolean isAcceptable(String correlationId) {
+        if (correlationId == null || correlationId.isEmpty() || correlationId.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < correlationId.length(); i++) {
+            char c = correlationId.charAt(i);
+            boolean allowed = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jwt.validator.service.jwt;
+
+import java.util.List;
+
+public interface BatchValidationService {
+    int maxBatchSize();
+
+    List<Boolean> validateAll(List<String> tokens);
+}
@@ -1,8 +1,22 @@
 package com.jwt.validator.service.jwt;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.http.ResponseEntity;
 
 public interface JwtValidationService {
-    ResponseEntity<Boolean> validateJwt(String token) throws JsonProcessingException;
-}
\ No newline at end of file
+    ResponseEntity<Boolean> validateJwt(String token);
+
+    /**
+     * Validates {@code token} without throwing on malformed input.
+     */
+    ValidationResult validate(String token);
+
+    /**
+     * Validates one token of a batch or stream like {@link #validate}, leaving the request
+     * span untouched: every token of the request would otherwise overwrite the same tags.
+     * Callers tag the span once with totals, see
+     * {@link com.jwt.validator.utils.tracing.DataDogUtils#tagSpanTotals}.
+     */
+    default ValidationResult validateInBulk(String token) {
+        return validate(token);
+    }
+}
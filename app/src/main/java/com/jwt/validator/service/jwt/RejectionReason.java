@@ -0,0 +1,27 @@
+package com.jwt.validator.service.jwt;
+
+/**
+ * Why a token was rejected. {@link #tag()} is the value used in metrics and must stay
+ * stable once published.
+ */
+public enum RejectionReason {
+    STRUCTURE("structure"),
+    SIZE("size"),
+    HEADER("header"),
+    BASE64("base64"),
+    JSON("json"),
+    NAME("name"),
+    ROLE("role"),
+    SEED("seed"),
+    SIGNATURE("signature");
+
+    private final String tag;
+
+    RejectionReason(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
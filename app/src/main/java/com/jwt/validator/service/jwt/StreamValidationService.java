@@ -0,0 +1,16 @@
+package com.jwt.validator.service.jwt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface StreamValidationService {
+
+    /**
+     * Validates every NDJSON line of {@code in} and writes one NDJSON result per line to
+     * {@code out}, in input order, as the lines arrive.
+     *
+     * @return the number of lines answered
+     */
+    long validateAll(InputStream in, OutputStream out) throws IOException;
+}
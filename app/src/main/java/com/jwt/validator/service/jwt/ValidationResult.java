@@ -0,0 +1,65 @@
+package com.jwt.validator.service.jwt;
+
+/**
+ * Outcome of validating one token. Every outcome is a shared constant, so producing a
+ * result never allocates. {@link #ERROR} marks an unexpected failure and, unlike the
+ * other outcomes, is never cached.
+ */
+public enum ValidationResult {
+    VALID(null, null),
+    INVALID_STRUCTURE(RejectionReason.STRUCTURE, null),
+    INVALID_SIZE(RejectionReason.SIZE, null),
+    INVALID_HEADER(RejectionReason.HEADER, null),
+    INVALID_BASE64(RejectionReason.BASE64, null),
+    INVALID_JSON(RejectionReason.JSON, null),
+    INVALID_NAME(RejectionReason.NAME, "Name"),
+    INVALID_ROLE(RejectionReason.ROLE, "Role"),
+    INVALID_SEED(RejectionReason.SEED, "Seed"),
+    INVALID_SIGNATURE(RejectionReason.SIGNATURE, null),
+    ERROR(null, null);
+
+    private static final ValidationResult[] BY_REASON = new ValidationResult[RejectionReason.values().length];
+
+    static {
+        for (ValidationResult result : values()) {
+            if (result.reason != null) {
+                BY_REASON[result.reason.ordinal()] = result;
+            }
+        }
+    }
+
+    private final RejectionReason reason;
+    private final String failedClaim;
+
+    ValidationResult(RejectionReason reason, String failedClaim) {
+        this.reason = reason;
+        this.failedClaim = failedClaim;
+    }
+
+    public static ValidationResult rejected(RejectionReason reason) {
+        return BY_REASON[reason.ordinal()];
+    }
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    public boolean isCacheable() {
+        return this != ERROR;
+    }
+
+    /**
+     * @return why the token was rejected, or {@code null} for {@link #VALID} and {@link #ERROR}
+     */
+    public RejectionReason reason() {
+        return reason;
+    }
+
+    /**
+     * @return the payload claim that failed validation, or {@code null} when the rejection
+     *         is not about a single claim
+     */
+    public String failedClaim() {
+        return failedClaim;
+    }
+}
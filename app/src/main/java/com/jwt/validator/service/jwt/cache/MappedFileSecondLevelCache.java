@@ -0,0 +1,289 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.SharedCacheProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link SecondLevelCache} shared by every process of a host that maps the same file at
+ * {@code jwt.validation.cache.shared.path}, so a result computed by one instance is a hit
+ * for its neighbours without an external cache service.
+ *
+ * <p>The file is a header followed by a fixed-size open-addressing table: a digest lives
+ * in one of the {@value #PROBES} slots starting at the one its low bits point to, and a
+ * full neighbourhood overwrites its first slot. A slot holds the digest, the
+ * {@link ValidationInputs} fingerprint the result was computed under, the result with its
+ * expiry time, and a checksum of those words written last. Slots are updated without locks:
+ * a read racing a write, or two writes racing each other, leave a checksum that does not
+ * match, and the slot reads as a miss until it is written again.</p>
+ *
+ * <p>The header, written by the first process under a file lock, records the format
+ * version, table size, digest key fingerprint and {@link ValidationResult} names; a process
+ * whose settings differ, or that has no fixed {@code jwt.validation.cache.digest-key}, logs
+ * a warning and runs without the shared cache. Publishes
+ * {@code jwt.validation.cache.shared.requests{result}}.</p>
+ */
+@Component
+public class MappedFileSecondLevelCache implements SecondLevelCache, MeterBinder {
+
+    static final int MAGIC = 0x4A575332;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int SLOT_BYTES = 5 * Long.BYTES;
+    static final int PROBES = 4;
+    static final int MAX_SLOTS = 1 << 24;
+
+    private static final LogManager<MappedFileSecondLevelCache> log = new LogManager<>(MappedFileSecondLevelCache.class);
+    private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final ValidationResult[] RESULTS = ValidationResult.values();
+    private static final int HIGH = 0;
+    private static final int LOW = 8;
+    private static final int INPUTS = 16;
+    private static final int DATA = 24;
+    private static final int CHECK = 32;
+    private static final int RESULT_BITS = 8;
+
+    private final SharedCacheProperties properties;
+    private final ValidationInputs inputs;
+    private final long keyFingerprint;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private MappedByteBuffer table;
+    private int mask;
+
+    @Autowired
+    public MappedFileSecondLevelCache(SharedCacheProperties properties,
+                                      ValidationCacheProperties cacheProperties,
+                                      ValidationInputs inputs) {
+        this(properties, cacheProperties, inputs, System::currentTimeMillis);
+    }
+
+    MappedFileSecondLevelCache(SharedCacheProperties properties,
+                               ValidationCacheProperties cacheProperties,
+                               ValidationInputs inputs,
+                               LongSupplier clock) {
+        this.properties = properties;
+        this.inputs = inputs;
+        this.keyFingerprint = ValidationResultCache.keyFingerprint(cacheProperties.digestKey());
+        this.ttlMillis = cacheProperties.expireAfterWrite().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Maps the shared file, creating it when this is the first process to use it. Any
+     * failure leaves the shared cache disabled rather than failing startup.
+     */
+    @PostConstruct
+    void open() {
+        if (!StringUtils.hasText(properties.path())) {
+            return;
+        }
+        if (keyFingerprint == 0) {
+            log.warn("Shared validation cache disabled: jwt.validation.cache.digest-key is not set");
+            return;
+        }
+        Path path = Path.of(properties.path()).toAbsolutePath();
+        int slots = Math.max(PROBES, Integer.highestOneBit(Math.max(1, properties.slots() - 1)) << 1);
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        try {
+            if (slots > MAX_SLOTS) {
+                throw new IOException("at most " + MAX_SLOTS + " slots are supported");
+            }
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Serializes header creation with neighbours starting at the same time; closing
+                // the channel releases it when mapping fails.
+                FileLock lock = channel.lock();
+                boolean created = channel.size() == 0;
+                if (!created && channel.size() != size) {
+                    throw new IOException("file holds " + channel.size() + " bytes, " + size + " expected");
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                if (created) {
+                    writeHeader(mapped, slots);
+                } else {
+                    checkHeader(mapped, slots);
+                }
+                table = mapped;
+                mask = slots - 1;
+                lock.release();
+            }
+            log.info("Shared validation cache mapped", slots + " slots in " + path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Shared validation cache disabled", path, e.getMessage());
+        }
+    }
+
+    boolean isEnabled() {
+        return table != null;
+    }
+
+    @Override
+    public ValidationResult get(TokenDigest digest) {
+        MappedByteBuffer current = table;
+        if (current == null) {
+            return null;
+        }
+        int slot = find(current, digest);
+        if (slot >= 0) {
+            long check = (long) WORDS.getAcquire(current, slot + CHECK);
+            long slotInputs = (long) WORDS.getOpaque(current, slot + INPUTS);
+            long data = (long) WORDS.getOpaque(current, slot + DATA);
+            int result = (int) (data & ((1 << RESULT_BITS) - 1));
+            if (check == checksum(digest.high(), digest.low(), slotInputs, data)
+                    && slotInputs == inputs.fingerprint()
+                    && data >>> RESULT_BITS > clock.getAsLong()
+                    && result < RESULTS.length) {
+                hits.increment();
+                return RESULTS[result];
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(TokenDigest digest, ValidationResult result, long fingerprint) {
+        MappedByteBuffer current = table;
+        if (current == null || !result.isCacheable()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        int target = find(current, digest);
+        if (target < 0) {
+            int home = (int) digest.low();
+            for (int probe = 0; probe < PROBES && target < 0; probe++) {
+                int slot = slotOffset(home + probe);
+                if (isFree(current, slot, fingerprint, now)) {
+                    target = slot;
+                }
+            }
+            if (target < 0) {
+                target = slotOffset(home);
+            }
+        }
+        long data = (now + ttlMillis) << RESULT_BITS | result.ordinal();
+        WORDS.setOpaque(current, target + HIGH, digest.high());
+        WORDS.setOpaque(current, target + LOW, digest.low());
+        WORDS.setOpaque(current, target + INPUTS, fingerprint);
+        WORDS.setOpaque(current, target + DATA, data);
+        WORDS.setRelease(current, target + CHECK, checksum(digest.high(), digest.low(), fingerprint, data));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.validation.cache.shared.requests", hits, LongAdder::sum)
+                .description("Lookups in the host-shared validation cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jwt.validation.cache.shared.requests", misses, LongAdder::sum)
+                .description("Lookups in the host-shared validation cache")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * @return the offset of the slot holding {@code digest}, or {@code -1} when there is none
+     */
+    private int find(MappedByteBuffer table, TokenDigest digest) {
+        int home = (int) digest.low();
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = slotOffset(home + probe);
+            if ((long) WORDS.getOpaque(table, slot + HIGH) == digest.high()
+                    && (long) WORDS.getOpaque(table, slot + LOW) == digest.low()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A slot is free when it was never written, is torn, has expired or holds a result
+     * computed under other inputs.
+     */
+    private static boolean isFree(MappedByteBuffer table, int slot, long fingerprint, long now) {
+        long high = (long) WORDS.getOpaque(table, slot + HIGH);
+        long low = (long) WORDS.getOpaque(table, slot + LOW);
+        long slotInputs = (long) WORDS.getOpaque(table, slot + INPUTS);
+        long data = (long) WORDS.getOpaque(table, slot + DATA);
+        return (long) WORDS.getOpaque(table, slot + CHECK) != checksum(high, low, slotInputs, data)
+                || slotInputs != fingerprint
+                || data >>> RESULT_BITS <= now;
+    }
+
+    private int slotOffset(int index) {
+        return HEADER_BYTES + (index & mask) * SLOT_BYTES;
+    }
+
+    private static long checksum(long high, long low, long slotInputs, long data) {
+        long hash = ValidationInputs.mix(high ^ 0x9e3779b97f4a7c15L);
+        hash = ValidationInputs.mix(hash ^ low);
+        hash = ValidationInputs.mix(hash ^ slotInputs);
+        return ValidationInputs.mix(hash ^ data);
+    }
+
+    private void writeHeader(ByteBuffer header, int slots) {
+        header.putInt(0, MAGIC);
+        header.putInt(4, FORMAT_VERSION);
+        header.putInt(8, slots);
+        header.putInt(12, SLOT_BYTES);
+        header.putLong(16, keyFingerprint);
+        header.putLong(24, resultsFingerprint());
+    }
+
+    private void checkHeader(ByteBuffer header, int slots) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("not a shared validation cache");
+        }
+        if (header.getInt(4) != FORMAT_VERSION || header.getInt(12) != SLOT_BYTES) {
+            throw new IOException("unsupported format version " + header.getInt(4));
+        }
+        if (header.getInt(8) != slots) {
+            throw new IOException("file has " + header.getInt(8) + " slots, " + slots + " configured");
+        }
+        if (header.getLong(16) != keyFingerprint) {
+            throw new IOException("created with another digest key");
+        }
+        if (header.getLong(24) != resultsFingerprint()) {
+            throw new IOException("created by a version with other validation results");
+        }
+    }
+
+    /**
+     * Results are stored by ordinal, so every process must agree on the list.
+     */
+    private static long resultsFingerprint() {
+        CRC32C crc = new CRC32C();
+        crc.update(Arrays.toString(RESULTS).getBytes(StandardCharsets.US_ASCII));
+        return crc.getValue();
+    }
+}
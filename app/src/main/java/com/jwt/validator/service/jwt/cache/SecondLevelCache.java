@@ -0,0 +1,38 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.service.jwt.ValidationResult;
+
+/**
+ * Cache consulted by {@link ValidationResultCache} after a miss of its own, and fed with
+ * every result it stores, typically shared with other processes. Implementations must be
+ * safe for concurrent use and fast enough for the request path; they decide themselves
+ * which results are still valid and may forget any of them at any time.
+ */
+public interface SecondLevelCache {
+
+    /**
+     * Second level used when none is configured: never holds anything.
+     */
+    SecondLevelCache NONE = new SecondLevelCache() {
+        @Override
+        public ValidationResult get(TokenDigest digest) {
+            return null;
+        }
+
+        @Override
+        public void put(TokenDigest digest, ValidationResult result, long inputs) {
+            // nothing to store
+        }
+    };
+
+    /**
+     * @return the result stored for {@code digest}, or {@code null} when there is none
+     */
+    ValidationResult get(TokenDigest digest);
+
+    /**
+     * @param inputs the {@link ValidationInputs} fingerprint read before {@code result} was
+     *               computed, which may already differ from the current one
+     */
+    void put(TokenDigest digest, ValidationResult result, long inputs);
+}
@@ -0,0 +1,69 @@
+package com.jwt.validator.service.jwt.cache;
+
+/**
+ * 128-bit keyed digest of a raw token, used as cache key instead of the token itself.
+ * Computed with SipHash-2-4 over the UTF-16 code units of the token, so collisions
+ * cannot be crafted without knowing the key.
+ */
+public record TokenDigest(long high, long low) {
+
+    public static TokenDigest of(CharSequence token, long k0, long k1) {
+        long v0 = 0x736f6d6570736575L ^ k0;
+        long v1 = 0x646f72616e646f6dL ^ k1 ^ 0xeeL;
+        long v2 = 0x6c7967656e657261L ^ k0;
+        long v3 = 0x7465646279746573L ^ k1;
+
+        int length = token.length();
+        int fullWordsEnd = length & ~3;
+        int i = 0;
+        while (i < fullWordsEnd) {
+            long m = (long) token.charAt(i)
+                    | (long) token.charAt(i + 1) << 16
+                    | (long) token.charAt(i + 2) << 32
+                    | (long) token.charAt(i + 3) << 48;
+            i += 4;
+
+            v3 ^= m;
+            for (int round = 0; round < 2; round++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+
+        long last = ((long) length & 0xffL) << 56;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            last |= (long) token.charAt(i) << shift;
+        }
+        v3 ^= last;
+        for (int round = 0; round < 2; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        v0 ^= last;
+
+        v2 ^= 0xeeL;
+        for (int round = 0; round < 4; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        long high = v0 ^ v1 ^ v2 ^ v3;
+
+        v1 ^= 0xddL;
+        for (int round = 0; round < 4; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        long low = v0 ^ v1 ^ v2 ^ v3;
+
+        return new TokenDigest(high, low);
+    }
+}
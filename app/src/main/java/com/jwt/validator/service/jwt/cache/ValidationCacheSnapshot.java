@@ -0,0 +1,278 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.CacheSnapshotProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Carries the {@link ValidationResultCache} over a restart, so a new instance does not
+ * start with every token a miss. The cache is written to {@code jwt.validation.cache.snapshot.path}
+ * on a schedule and on shutdown, through a temporary file moved into place, and the file
+ * is memory-mapped and restored at startup, before the application reports ready.
+ *
+ * <p>The file holds, big-endian: a magic number, the format version, the names of the
+ * {@link ValidationResult}s entries refer to by index, a fingerprint of the digest key, the
+ * {@link ValidationInputs} fingerprint, the save time, the entries (digest, result index,
+ * expiry time in epoch millis) and a CRC32C of everything before it. A file that is truncated, corrupted, of
+ * another version, or written under another key or other rules is logged and ignored;
+ * it never fails startup.</p>
+ */
+@Component
+public class ValidationCacheSnapshot {
+
+    static final int MAGIC = 0x4A575643;
+    static final short FORMAT_VERSION = 1;
+
+    private static final LogManager<ValidationCacheSnapshot> log = new LogManager<>(ValidationCacheSnapshot.class);
+    private static final int ENTRY_BYTES = 3 * Long.BYTES + 1;
+
+    private final ValidationResultCache cache;
+    private final CacheSnapshotProperties properties;
+    private final ValidationInputs inputs;
+    private final boolean keyConfigured;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ValidationCacheSnapshot(ValidationResultCache cache,
+                                   CacheSnapshotProperties properties,
+                                   ValidationCacheProperties cacheProperties,
+                                   ValidationInputs inputs) {
+        this(cache, properties, cacheProperties, inputs, System::currentTimeMillis);
+    }
+
+    ValidationCacheSnapshot(ValidationResultCache cache,
+                            CacheSnapshotProperties properties,
+                            ValidationCacheProperties cacheProperties,
+                            ValidationInputs inputs,
+                            LongSupplier clock) {
+        this.cache = cache;
+        this.properties = properties;
+        this.inputs = inputs;
+        this.keyConfigured = ValidationResultCache.keyFingerprint(cacheProperties.digestKey()) != 0;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!keyConfigured && cache.isEnabled() && StringUtils.hasText(properties.path())) {
+            // A snapshot written under a per-process random key could never be restored.
+            log.warn("Validation cache snapshot disabled: jwt.validation.cache.digest-key is not set");
+            return;
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        load();
+        long interval = properties.interval().toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validation-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::saveQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (isEnabled()) {
+            saveQuietly();
+        }
+    }
+
+    /**
+     * Restores the snapshot file into the cache; expired results are skipped.
+     *
+     * @return the number of results restored, {@code 0} when the file is missing or ignored
+     */
+    int load() {
+        Path path = Path.of(properties.path());
+        if (!Files.isRegularFile(path)) {
+            log.info("No validation cache snapshot to restore", path);
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int restored = restore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            log.info("Validation cache snapshot restored", restored + " results from " + path);
+            return restored;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring validation cache snapshot", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Writes every cached result to the snapshot file, replacing the previous one.
+     *
+     * @return the number of results written, or {@code -1} when the claim rules or keys
+     *         changed while the cache was read and nothing was written
+     */
+    synchronized int save() throws IOException {
+        long fingerprint = inputs.fingerprint();
+        List<Entry> entries = new ArrayList<>();
+        cache.forEachEntry((digest, result, remainingNanos) -> {
+            if (result.isCacheable()) {
+                entries.add(new Entry(digest, result, remainingNanos));
+            }
+        });
+        if (fingerprint != inputs.fingerprint()) {
+            return -1;
+        }
+
+        Path path = Path.of(properties.path()).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        long now = clock.getAsLong();
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            ValidationResult[] results = ValidationResult.values();
+            out.writeByte(results.length);
+            for (ValidationResult result : results) {
+                out.writeUTF(result.name());
+            }
+            out.writeLong(cache.keyFingerprint());
+            out.writeLong(fingerprint);
+            out.writeLong(now);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeLong(entry.digest().high());
+                out.writeLong(entry.digest().low());
+                out.writeByte(entry.result().ordinal());
+                out.writeLong(now + TimeUnit.NANOSECONDS.toMillis(entry.remainingNanos()));
+            }
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return entries.size();
+    }
+
+    private void saveQuietly() {
+        try {
+            int saved = save();
+            if (saved < 0) {
+                log.info("Validation cache snapshot skipped, rules or keys changed while saving");
+            } else {
+                log.debug("Validation cache snapshot saved", saved);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Validation cache snapshot failed", properties.path(), e);
+        }
+    }
+
+    private int restore(ByteBuffer buffer) throws IOException {
+        int contentLength = buffer.limit() - Integer.BYTES;
+        if (contentLength < Integer.BYTES) {
+            throw new IOException("file is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, contentLength));
+        if ((int) crc.getValue() != buffer.getInt(contentLength)) {
+            throw new IOException("checksum mismatch");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("not a validation cache snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unsupported format version " + version);
+        }
+        ValidationResult[] results = readResults(buffer);
+        if (buffer.getLong() != cache.keyFingerprint()) {
+            throw new IOException("written with another digest key");
+        }
+        if (buffer.getLong() != inputs.fingerprint()) {
+            throw new IOException("written under other claim rules, keys or settings");
+        }
+        Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * ENTRY_BYTES != contentLength - buffer.position()) {
+            throw new IOException("entry count does not match the file length");
+        }
+
+        long now = clock.getAsLong();
+        int restored = 0;
+        for (int i = 0; i < count; i++) {
+            TokenDigest digest = new TokenDigest(buffer.getLong(), buffer.getLong());
+            int index = Byte.toUnsignedInt(buffer.get());
+            long remainingMillis = buffer.getLong() - now;
+            if (index >= results.length) {
+                throw new IOException("unknown result index " + index);
+            }
+            ValidationResult result = results[index];
+            if (result != null && result.isCacheable() && remainingMillis > 0) {
+                cache.restore(digest, result, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+                restored++;
+            }
+        }
+        log.debug("Validation cache snapshot read", savedAt, count + " entries");
+        return restored;
+    }
+
+    /**
+     * Reads the result names of the file; names this version no longer knows map to
+     * {@code null}, and their entries are dropped.
+     */
+    private static ValidationResult[] readResults(ByteBuffer buffer) {
+        ValidationResult[] results = new ValidationResult[Byte.toUnsignedInt(buffer.get())];
+        for (int i = 0; i < results.length; i++) {
+            byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(name);
+            results[i] = byName(new String(name, StandardCharsets.US_ASCII));
+        }
+        return results;
+    }
+
+    private static ValidationResult byName(String name) {
+        for (ValidationResult result : ValidationResult.values()) {
+            if (result.name().equals(name)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private boolean isEnabled() {
+        return cache.isEnabled() && StringUtils.hasText(properties.path()) && keyConfigured;
+    }
+
+    private record Entry(TokenDigest digest, ValidationResult result, long remainingNanos) {}
+}
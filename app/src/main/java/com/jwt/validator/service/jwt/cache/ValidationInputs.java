@@ -0,0 +1,60 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.signature.JwksKeyStore;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.TreeSet;
+import java.util.zip.CRC32C;
+
+/**
+ * Fingerprint of everything a validation outcome depends on besides the token: the claim
+ * rules, the JWKS and the signature and pre-filter settings. An outcome computed elsewhere,
+ * by an earlier process or a neighbouring one, is only reusable when the fingerprints
+ * match. Cheap enough to read on every request: the settings are hashed once and the
+ * rules and keys are checksummed by their stores when loaded.
+ */
+@Component
+public class ValidationInputs {
+
+    private final ClaimRulesStore claimRules;
+    private final JwksKeyStore keyStore;
+    private final long settings;
+
+    public ValidationInputs(ClaimRulesStore claimRules,
+                            JwksKeyStore keyStore,
+                            SignatureProperties signatureProperties,
+                            TokenPreFilterProperties preFilterProperties) {
+        this.claimRules = claimRules;
+        this.keyStore = keyStore;
+        String settings = signatureProperties.enabled()
+                + "/" + new TreeSet<>(signatureProperties.allowedAlgorithms())
+                + "/" + preFilterProperties;
+        CRC32C crc = new CRC32C();
+        crc.update(settings.getBytes(StandardCharsets.UTF_8));
+        this.settings = crc.getValue();
+    }
+
+    public long fingerprint() {
+        long hash = settings;
+        hash = mix(hash ^ claimRules.fingerprint());
+        hash = mix(hash ^ keyStore.fingerprint());
+        return hash;
+    }
+
+    /**
+     * Finalizer of MurmurHash3: every input bit affects every output bit.
+     */
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,265 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.service.jwt.rules.ClaimRulesReloadedEvent;
+import com.jwt.validator.service.jwt.signature.JwksReloadedEvent;
+import com.jwt.validator.utils.logs.LogManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of validation outcomes keyed by the {@link TokenDigest} of the raw token,
+ * so repeated tokens skip decoding, parsing and the primality check. Backed by Caffeine,
+ * which evicts by size (W-TinyLFU) and TTL without a global lock. Tokens longer than
+ * {@code maxTokenLength} are never admitted. Hit, miss and eviction counts are published
+ * as the {@code jwt.validation.results} cache metrics.
+ *
+ * <p>A {@link SecondLevelCache} bean, when there is one, is asked on every miss and given
+ * every stored result; results found there are promoted into this cache.</p>
+ *
+ * <p>Callers read {@link #inputs()} before evaluating a token and hand it back to
+ * {@link #put}, which drops the result when the rules or keys were reloaded in between, so
+ * a verdict computed under the old inputs cannot outlive the reload's invalidation.</p>
+ */
+@Component
+public class ValidationResultCache implements MeterBinder {
+
+    private static final LogManager<ValidationResultCache> log = new LogManager<>(ValidationResultCache.class);
+    private static final SecureRandom KEY_RANDOM = new SecureRandom();
+    private static final String KEY_FINGERPRINT_INPUT = "jwt-validator/digest-key";
+
+    private final boolean enabled;
+    private final int maxTokenLength;
+    private final long k0;
+    private final long k1;
+    private final long expireAfterWriteNanos;
+    private final Cache<TokenDigest, ValidationResult> cache;
+    private final Policy.VarExpiration<TokenDigest, ValidationResult> expiration;
+    private final SecondLevelCache secondLevel;
+    private final LongSupplier inputs;
+
+    @Autowired
+    public ValidationResultCache(ValidationCacheProperties properties, ValidationInputs inputs,
+                                 ObjectProvider<SecondLevelCache> secondLevel) {
+        this(properties, inputs::fingerprint, secondLevel.getIfUnique(() -> SecondLevelCache.NONE));
+    }
+
+    /**
+     * Cache for inputs that never change, for tests and tools running without Spring.
+     */
+    public ValidationResultCache(ValidationCacheProperties properties) {
+        this(properties, () -> 0L, SecondLevelCache.NONE);
+    }
+
+    public ValidationResultCache(ValidationCacheProperties properties, LongSupplier inputs,
+                                 SecondLevelCache secondLevel) {
+        this.secondLevel = secondLevel;
+        this.inputs = inputs;
+        this.enabled = properties.enabled();
+        this.maxTokenLength = properties.maxTokenLength();
+
+        ByteBuffer key = ByteBuffer.wrap(digestKey(properties.digestKey()));
+        this.k0 = key.getLong();
+        this.k1 = key.getLong();
+        this.expireAfterWriteNanos = properties.expireAfterWrite().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new ExpireAfterWrite(expireAfterWriteNanos))
+                .recordStats()
+                .build();
+        this.expiration = cache.policy().expireVariably().orElseThrow();
+
+        log.info("Validation result cache configured", enabled
+                ? "maximumSize=" + properties.maximumSize() + " ttl=" + properties.expireAfterWrite()
+                : "disabled");
+    }
+
+    /**
+     * Returns the cache key of {@code token}, or {@code null} when it must not be cached.
+     */
+    public TokenDigest digest(String token) {
+        if (!enabled || token == null || token.length() > maxTokenLength) {
+            return null;
+        }
+        return TokenDigest.of(token, k0, k1);
+    }
+
+    public ValidationResult get(TokenDigest digest) {
+        ValidationResult result = cache.getIfPresent(digest);
+        if (result == null) {
+            result = secondLevel.get(digest);
+            if (result != null) {
+                cache.put(digest, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return fingerprint of the rules and keys in use, to be read before evaluating a token
+     *         and passed to {@link #put} with its result
+     */
+    public long inputs() {
+        return inputs.getAsLong();
+    }
+
+    /**
+     * Stores {@code result} unless the inputs changed since {@code evaluatedInputs} was read.
+     * A reload that lands between the check and the write is caught by checking again: the
+     * stores publish their new fingerprint before the reload event clears this cache, so
+     * either that clear removes the entry or the second check sees the change.
+     */
+    public void put(TokenDigest digest, ValidationResult result, long evaluatedInputs) {
+        if (inputs.getAsLong() != evaluatedInputs) {
+            return;
+        }
+        cache.put(digest, result);
+        if (inputs.getAsLong() != evaluatedInputs) {
+            cache.invalidate(digest);
+            return;
+        }
+        secondLevel.put(digest, result, evaluatedInputs);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Calls {@code visitor} with every cached result and the time it has left to live.
+     */
+    void forEachEntry(EntryVisitor visitor) {
+        cache.asMap().forEach((digest, result) -> expiration.getExpiresAfter(digest, TimeUnit.NANOSECONDS)
+                .ifPresent(remaining -> visitor.visit(digest, result, remaining)));
+    }
+
+    /**
+     * Adds a result computed by an earlier process, expiring when it would have there
+     * but never later than a fresh result would. A result already cached is kept.
+     */
+    void restore(TokenDigest digest, ValidationResult result, long remainingNanos) {
+        expiration.putIfAbsent(digest, result, Math.min(remainingNanos, expireAfterWriteNanos), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return a value derived from the digest key that identifies it without revealing it;
+     *         digests are only reusable by a cache whose key has the same fingerprint
+     */
+    long keyFingerprint() {
+        return keyFingerprint(k0, k1);
+    }
+
+    /**
+     * Fingerprint of a configured digest key, for caches built before this one.
+     *
+     * @return the fingerprint, or {@code 0} when no key is configured and each process
+     *         draws its own
+     */
+    static long keyFingerprint(String configuredKey) {
+        if (!StringUtils.hasText(configuredKey)) {
+            return 0;
+        }
+        ByteBuffer key = ByteBuffer.wrap(digestKey(configuredKey));
+        return keyFingerprint(key.getLong(), key.getLong());
+    }
+
+    private static long keyFingerprint(long k0, long k1) {
+        return TokenDigest.of(KEY_FINGERPRINT_INPUT, k0, k1).high();
+    }
+
+    /**
+     * Outcomes depend on the verification keys, so they are dropped whenever keys change.
+     */
+    @EventListener
+    public void onJwksReloaded(JwksReloadedEvent event) {
+        cache.invalidateAll();
+        log.debug("Validation result cache cleared after JWKS reload", event.keyCount());
+    }
+
+    /**
+     * Outcomes depend on the claim rules, so they are dropped whenever the rules change.
+     */
+    @EventListener
+    public void onClaimRulesReloaded(ClaimRulesReloadedEvent event) {
+        cache.invalidateAll();
+        log.debug("Validation result cache cleared after claim rules reload", event.source());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.validation.results");
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(TokenDigest digest, ValidationResult result, long remainingNanos);
+    }
+
+    /**
+     * Same policy as {@code expireAfterWrite}, expressed as an {@link Expiry} so that a
+     * restored result can keep the expiry it had when it was saved.
+     */
+    private record ExpireAfterWrite(long ttlNanos) implements Expiry<TokenDigest, ValidationResult> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest digest, ValidationResult result, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, ValidationResult result, long currentTime,
+                                      long currentDuration) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, ValidationResult result, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static byte[] digestKey(String configured) {
+        if (StringUtils.hasText(configured)) {
+            byte[] key = HexFormat.of().parseHex(configured.trim());
+            if (key.length != 16) {
+                throw new IllegalStateException("jwt.validation.cache.digest-key must be 32 hex characters");
+            }
+            return key;
+        }
+        byte[] key = new byte[16];
+        KEY_RANDOM.nextBytes(key);
+        return key;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jwt.validator.service.jwt.impl;
+
+import com.jwt.validator.config.BatchValidationProperties;
+import com.jwt.validator.service.jwt.BatchValidationService;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import com.jwt.validator.utils.tracing.DataDogUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Validates a list of tokens on a dedicated {@link ForkJoinPool}, keeping results in
+ * request order. The pool is private so a large batch cannot starve the common pool.
+ * Workers run each token under the correlation id of the calling request. Tokens do not
+ * tag the request span one by one; the batch tags it once with its totals.
+ */
+@Service
+public class BatchValidationServiceImpl implements BatchValidationService {
+
+    private static final LogManager<BatchValidationServiceImpl> log = new LogManager<>(BatchValidationServiceImpl.class);
+
+    private final JwtValidationService jwtValidationService;
+    private final int maxBatchSize;
+    private final ForkJoinPool pool;
+
+    public BatchValidationServiceImpl(JwtValidationService jwtValidationService, BatchValidationProperties properties) {
+        this.jwtValidationService = jwtValidationService;
+        this.maxBatchSize = properties.maxSize();
+        int parallelism = properties.parallelism() > 0
+                ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        log.debug("Batch validation pool created", parallelism);
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public List<Boolean> validateAll(List<String> tokens) {
+        List<ValidationResult> results;
+        if (tokens.size() == 1 || pool.getParallelism() == 1) {
+            results = tokens.stream().map(this::validate).toList();
+        } else {
+            Function<String, ValidationResult> validate = RequestUUIDHolder.propagating(this::validate);
+            results = pool.submit(() -> tokens.parallelStream().map(validate).toList()).join();
+        }
+        long valid = 0;
+        long errors = 0;
+        List<Boolean> answers = new ArrayList<>(results.size());
+        for (ValidationResult result : results) {
+            valid += result.isValid() ? 1 : 0;
+            errors += result == ValidationResult.ERROR ? 1 : 0;
+            answers.add(result.isValid());
+        }
+        DataDogUtils.tagSpanTotals(valid, results.size() - valid - errors, errors);
+        return answers;
+    }
+
+    private ValidationResult validate(String token) {
+        return jwtValidationService.validateInBulk(token);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -1,173 +1,228 @@
 package com.jwt.validator.service.jwt.impl;
 
-import static com.jwt.validator.utils.tracing.DataDogUtils.addTag;
-import static com.jwt.validator.utils.tracing.DataDogUtils.startAndLogSpan;
+import static com.jwt.validator.utils.tracing.DataDogUtils.tagSpan;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.jwt.validator.constants.ValidationConstants;
 import com.jwt.validator.utils.logs.LogManager;
 import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.service.jwt.cache.TokenDigest;
+import com.jwt.validator.service.jwt.cache.ValidationResultCache;
+import com.jwt.validator.service.jwt.metrics.ValidationFlightRecorder;
+import com.jwt.validator.service.jwt.metrics.ValidationMetrics;
+import com.jwt.validator.service.jwt.metrics.ValidationStage;
+import com.jwt.validator.service.jwt.metrics.ValidationTrace;
+import com.jwt.validator.service.jwt.parser.ParsedPayload;
+import com.jwt.validator.service.jwt.parser.PayloadClaims;
+import com.jwt.validator.service.jwt.parser.StreamingPayloadParser;
+import com.jwt.validator.service.jwt.parser.TokenSegments;
+import com.jwt.validator.service.jwt.parser.ValidationScratch;
+import com.jwt.validator.service.jwt.prefilter.PreFilterRejection;
+import com.jwt.validator.service.jwt.prefilter.TokenPreFilter;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.rules.ClaimsValidator;
+import com.jwt.validator.service.jwt.signature.SignatureVerifier;
+import com.jwt.validator.service.jwt.signature.VerificationKey;
+import com.jwt.validator.utils.codec.Base64Url;
+import com.jwt.validator.utils.tracing.DataDogUtils;
+import com.jwt.validator.utils.tracing.SpanOutcome;
+import com.jwt.validator.utils.tracing.SpanTag;
 import com.jwt.validator.service.prime.PrimeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
 
 @Service
 public class JwtValidationServiceImpl implements JwtValidationService {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ResponseEntity<Boolean> VALID_RESPONSE = ResponseEntity.ok(true);
+    private static final ResponseEntity<Boolean> INVALID_RESPONSE = ResponseEntity.badRequest().body(false);
+
+    private final StreamingPayloadParser payloadParser = new StreamingPayloadParser();
     private final PrimeService primeService;
+    private final ValidationResultCache resultCache;
+    private final SignatureVerifier signatureVerifier;
+    private final ValidationMetrics metrics;
+    private final ClaimRulesStore claimRules;
+    private final TokenPreFilter preFilter;
+    private final ValidationFlightRecorder flightRecorder;
     private static final LogManager<JwtValidationServiceImpl> log = new LogManager<>(JwtValidationServiceImpl.class);
 
     @Autowired
-    public JwtValidationServiceImpl(PrimeService primeService) {
+    public JwtValidationServiceImpl(PrimeService primeService, ValidationResultCache resultCache,
+                                    SignatureVerifier signatureVerifier, ValidationMetrics metrics,
+                                    ClaimRulesStore claimRules, TokenPreFilter preFilter,
+                                    ValidationFlightRecorder flightRecorder) {
         this.primeService = primeService;
+        this.resultCache = resultCache;
+        this.signatureVerifier = signatureVerifier;
+        this.metrics = metrics;
+        this.claimRules = claimRules;
+        this.preFilter = preFilter;
+        this.flightRecorder = flightRecorder;
         log.debug("JwtValidationServiceImpl initialized with PrimeService");
     }
 
     @Override
     public ResponseEntity<Boolean> validateJwt(String token) {
-        log.info("Starting JWT validation process");
-        log.debug("Full token received: {}", token);
-
-        try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                log.warn("Invalid JWT structure - expected 3 parts, got {}", parts.length);
-                Map<String, Object> tags = new HashMap<>();
-                addTag(tags, "context.invalid_cause", "Invalid JWT structure");
-                startAndLogSpan(tags);
-                return ResponseEntity.badRequest().body(false);
-            }
-
-            String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
-            log.debug("Decoded payload: {}", payloadJson);
-
-            JsonNode payload = objectMapper.readTree(payloadJson);
-            boolean isValid = validatePayloadStructure(payload) && validateClaims(payload);
-
-            Map<String, Object> tags = new HashMap<>();
-            if (isValid) {
-                log.info("JWT validation successful");
-                log.debug("Valid payload - [Name] {} [Role] {} [Seed] {}",
-                        payload.path("Name").asText(),
-                        payload.path("Role").asText(),
-                        payload.path("Seed").asText());
-                addTag(tags, "context.role", payload.path("Role").asText());
-                addTag(tags, "context.seed", payload.path("Seed").asText());
-                startAndLogSpan(tags);
-                return ResponseEntity.ok(true);
-            } else {
-                log.warn("JWT validation failed");
-                addTag(tags, "context.payload", payload.toString());
-                startAndLogSpan(tags);
-                return ResponseEntity.badRequest().body(false);
-            }
-
-        } catch (IllegalArgumentException e) {
-            log.warn("Base64 decoding error: {}", e.getMessage());
-            Map<String, Object> tags = new HashMap<>();
-            addTag(tags, "context.invalid_cause", "Base64 decoding error");
-            startAndLogSpan(tags);
-            return ResponseEntity.badRequest().body(false);
-        } catch (JsonProcessingException e) {
-            log.warn("Invalid JSON payload: {}", e.getMessage());
-            Map<String, Object> tags = new HashMap<>();
-            addTag(tags, "context.invalid_cause", "Invalid JSON payload");
-            startAndLogSpan(tags);
-            return ResponseEntity.badRequest().body(false);
-        } catch (Exception e) {
-            log.error("Unexpected exception during JWT validation: {}", e.getMessage());
-            Map<String, Object> tags = new HashMap<>();
-            addTag(tags, "context.error", e.getClass().getSimpleName());
-            startAndLogSpan(tags);
-            return ResponseEntity.badRequest().body(false);
-        } finally {
-            log.debug("JWT validation process completed");
-        }
+        return validate(token).isValid() ? VALID_RESPONSE : INVALID_RESPONSE;
     }
 
-    private boolean validatePayloadStructure(JsonNode payload) {
-        boolean isValid = payload.size() == 3 &&
-                payload.has("Name") &&
-                payload.has("Role") &&
-                payload.has("Seed");
-
-        if (!isValid) {
-            log.warn("Invalid payload structure. Expected fields: Name, Role, Seed");
-            log.debug("Actual payload fields", payload.fieldNames());
-        }
+    @Override
+    public ValidationResult validate(String token) {
+        return validate(token, true);
+    }
 
-        return isValid;
+    @Override
+    public ValidationResult validateInBulk(String token) {
+        return validate(token, false);
     }
 
-    private boolean validateClaims(JsonNode payload) {
-        if (!validateName(payload.get("Name").asText())) {
-            log.warn("Name validation failed");
-            return false;
-        }
+    /**
+     * @param traced whether the outcome is tagged on the request span; tokens of a batch
+     *               or stream share one span, which their caller tags with totals instead
+     */
+    private ValidationResult validate(String token, boolean traced) {
+        log.info("Starting JWT validation process");
+        log.debug("Full token received", token);
+        ValidationTrace trace = flightRecorder.begin(token);
 
-        if (!validateRole(payload.get("Role").asText())) {
-            log.warn("Role validation failed. Allowed roles", ValidationConstants.ALLOWED_ROLES);
-            return false;
+        // Refused before hashing or decoding anything, so garbage never reaches the cache.
+        PreFilterRejection early = preFilter.check(token);
+        if (early != null) {
+            return flightRecorder.finish(trace, reject(early.reason(), early.spanTag(), traced), false);
         }
 
-        if (!validateSeed(payload.get("Seed").asText())) {
-            log.warn("Seed validation failed");
-            return false;
+        TokenDigest digest = resultCache.digest(token);
+        long inputs = 0;
+        if (digest != null) {
+            // Read before evaluating, so a result computed under rules or keys replaced
+            // meanwhile is not cached.
+            inputs = resultCache.inputs();
+            ValidationResult cached = resultCache.get(digest);
+            if (cached != null) {
+                log.debug("Validation result served from cache", cached);
+                // Errors are never cached: a hit is either valid or rejected.
+                if (cached.isValid()) {
+                    metrics.accepted();
+                } else {
+                    metrics.rejected(cached.reason());
+                }
+                if (traced) {
+                    tagSpan(cached.isValid() ? SpanOutcome.VALID : SpanOutcome.REJECTED, SpanTag.CACHE_HIT);
+                }
+                return flightRecorder.finish(trace, cached, true);
+            }
         }
 
-        return true;
+        ValidationResult result = evaluate(token, trace, traced);
+        if (digest != null && result.isCacheable()) {
+            resultCache.put(digest, result, inputs);
+        }
+        return flightRecorder.finish(trace, result, false);
     }
 
-    private boolean validateName(String name) {
-        if (name == null || name.isEmpty()) {
-            log.warn("Name is null or empty");
-            return false;
-        }
+    /**
+     * Runs the full validation pipeline, timing each stage. Malformed input is reported
+     * through the result; only unexpected failures reach the catch block.
+     */
+    private ValidationResult evaluate(String token, ValidationTrace trace, boolean traced) {
+        ValidationScratch scratch = ValidationScratch.acquire();
+        try {
+            long stageStart = trace.startStages();
+            TokenSegments segments = scratch.segments();
+            boolean structured = segments.scan(token);
+            stageStart = metrics.stageCompleted(ValidationStage.SPLIT, stageStart, trace);
+            if (!structured) {
+                log.warn("Invalid JWT structure - expected 3 dot-separated parts");
+                return reject(RejectionReason.STRUCTURE, SpanTag.INVALID_STRUCTURE, traced);
+            }
 
-        if (name.length() > ValidationConstants.MAX_NAME_LENGTH) {
-            log.warn("Name exceeds maximum length",
-                    String.valueOf(name.length()), String.valueOf(ValidationConstants.MAX_NAME_LENGTH));
-            return false;
-        }
+            VerificationKey verificationKey = null;
+            if (signatureVerifier.isEnabled()) {
+                verificationKey = signatureVerifier.resolveKey(token, segments, scratch);
+                stageStart = metrics.stageCompleted(ValidationStage.HEADER, stageStart, trace);
+                if (verificationKey == null) {
+                    return reject(RejectionReason.HEADER, SpanTag.INVALID_HEADER, traced);
+                }
+            }
 
-        if (name.matches(".*\\d.*")) {
-            log.warn("Name contains numbers", name);
-            return false;
-        }
+            byte[] payloadBytes = scratch.buffer(Base64Url.maxDecodedLength(segments.payloadLength()));
+            int payloadLength = Base64Url.decode(
+                    token, segments.payloadStart(), segments.payloadEnd(), payloadBytes, 0);
+            stageStart = metrics.stageCompleted(ValidationStage.DECODE, stageStart, trace);
+            if (payloadLength == Base64Url.MALFORMED) {
+                log.warn("Base64 decoding error: malformed payload segment");
+                return reject(RejectionReason.BASE64, SpanTag.BASE64_ERROR, traced);
+            }
 
-        return true;
-    }
+            ClaimsValidator claimsValidator = claimRules.current();
+            ParsedPayload parsed = payloadParser.parse(
+                    payloadBytes, 0, payloadLength, claimsValidator.requiredFields());
+            stageStart = metrics.stageCompleted(ValidationStage.PARSE, stageStart, trace);
+            if (parsed.rejection() == RejectionReason.JSON) {
+                return reject(RejectionReason.JSON, SpanTag.INVALID_JSON, traced);
+            }
 
-    private boolean validateRole(String role) {
-        boolean isValid = ValidationConstants.ALLOWED_ROLES.contains(role);
-        if (!isValid) {
-            log.warn("Invalid role", role);
-        }
-        return isValid;
-    }
+            PayloadClaims claims = parsed.claims();
+            RejectionReason rejection = parsed.rejection();
+            if (claims != null) {
+                trace.seed(claims.seed());
+                rejection = claimsValidator.validate(claims);
+                stageStart = metrics.stageCompleted(ValidationStage.CLAIMS, stageStart, trace);
+            }
+            if (rejection == null) {
+                rejection = claimsValidator.validatePrimes(claims, primeService);
+                stageStart = metrics.stageCompleted(ValidationStage.PRIME, stageStart, trace);
+            }
+            if (rejection != null) {
+                log.warn("JWT validation failed");
+                metrics.rejected(rejection);
+                if (traced) {
+                    tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, payloadBytes, 0, payloadLength);
+                }
+                return ValidationResult.rejected(rejection);
+            }
 
-    private boolean validateSeed(String seed) {
-        try {
-            int number = Integer.parseInt(seed);
-            boolean isPrime = primeService.isPrime(number);
+            // Signature crypto runs last so that cheaper rejections never pay for it.
+            if (verificationKey != null) {
+                boolean signed = signatureVerifier.verify(verificationKey, token, segments, scratch);
+                metrics.stageCompleted(ValidationStage.SIGNATURE, stageStart, trace);
+                if (!signed) {
+                    return reject(RejectionReason.SIGNATURE, SpanTag.INVALID_SIGNATURE, traced);
+                }
+            }
 
-            if (!isPrime) {
-                log.warn("Seed is not a prime number", number);
+            log.info("JWT validation successful");
+            log.debug("Valid payload - Name, Role and Seed",
+                    claims.name(),
+                    claims.role(),
+                    claims.seed());
+            metrics.accepted();
+            if (traced) {
+                tagSpan(SpanOutcome.VALID, DataDogUtils.ROLE, claims.role(), DataDogUtils.SEED, claims.seed());
             }
+            return ValidationResult.VALID;
+
+        } catch (Exception e) {
+            log.error("Unexpected exception during JWT validation", e.getMessage());
+            metrics.failed();
+            if (traced) {
+                tagSpan(SpanOutcome.ERROR, DataDogUtils.ERROR, e.getClass().getSimpleName());
+            }
+            return ValidationResult.ERROR;
+        } finally {
+            scratch.release();
+            log.debug("JWT validation process completed");
+        }
+    }
 
-            return isPrime;
-        } catch (NumberFormatException e) {
-            log.warn("Invalid seed format", seed);
-            return false;
+    private ValidationResult reject(RejectionReason reason, SpanTag cause, boolean traced) {
+        metrics.rejected(reason);
+        if (traced) {
+            tagSpan(cause);
         }
+        return ValidationResult.rejected(reason);
     }
-}
\ No newline at end of file
+}
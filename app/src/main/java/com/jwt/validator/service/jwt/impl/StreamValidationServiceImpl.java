@@ -0,0 +1,296 @@
+package com.jwt.validator.service.jwt.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.config.StreamValidationProperties;
+import com.jwt.validator.dto.response.ValidationDetailResponseDTO;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.StreamValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.LogManager;
+import com.jwt.validator.utils.tracing.DataDogUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validates an NDJSON stream of tokens, each line being {@code {"token":"..."}} or a bare
+ * JSON string, and answers each non-blank line with the same JSON as the detailed
+ * validation, one per line and in order. Input is read through a fixed buffer and a line
+ * is never held beyond {@code jwt.validation.stream.max-line-length}, so memory does not
+ * grow with the stream. Writes block while the client is not reading, which stops the
+ * reading of further input: a slow consumer slows the stream down instead of filling
+ * memory. Answers are buffered and flushed whenever no more input is immediately
+ * available, so a client sending lines one by one gets each answer right away. Tokens
+ * do not tag the request span one by one; the stream tags it once with its totals.
+ */
+@Service
+public class StreamValidationServiceImpl implements StreamValidationService {
+
+    private static final LogManager<StreamValidationServiceImpl> log = new LogManager<>(StreamValidationServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+    private static final int TOO_LONG = -2;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    /**
+     * Same shape as {@link ValidationDetailResponseDTO}, with a reason of its own.
+     */
+    private static final byte[] MALFORMED_LINE =
+            "{\"valid\":false,\"reason\":\"malformed\"}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final JwtValidationService jwtValidationService;
+    private final int maxLineLength;
+    private final byte[][] answers;
+
+    public StreamValidationServiceImpl(JwtValidationService jwtValidationService, StreamValidationProperties properties) {
+        this.jwtValidationService = jwtValidationService;
+        this.maxLineLength = properties.maxLineLength();
+        this.answers = answers();
+    }
+
+    /**
+     * A client that goes away mid-stream ends the stream quietly: the response is already
+     * committed, so there is nothing left to answer it with.
+     */
+    @Override
+    public long validateAll(InputStream in, OutputStream out) throws IOException {
+        ClientOutput client = new ClientOutput(out);
+        BufferedOutputStream buffered = new BufferedOutputStream(client, BUFFER_SIZE);
+        LineReader lines = new LineReader(in, buffered, maxLineLength);
+        Totals totals = new Totals();
+        try {
+            int length;
+            while ((length = lines.next()) != END) {
+                if (length == TOO_LONG) {
+                    buffered.write(answers[totals.count(ValidationResult.INVALID_SIZE).ordinal()]);
+                } else if (!isBlank(lines.line(), length)) {
+                    String token = token(lines.line(), length);
+                    if (token != null) {
+                        buffered.write(answers[totals.count(validate(token)).ordinal()]);
+                    } else {
+                        totals.rejected++;
+                        buffered.write(MALFORMED_LINE);
+                    }
+                }
+            }
+            buffered.flush();
+        } catch (IOException e) {
+            if (!client.failed) {
+                throw e;
+            }
+            log.debug("Stream validation client disconnected after lines", totals.count());
+            return totals.count();
+        } finally {
+            totals.tag();
+        }
+        log.info("Stream validation finished", totals.count());
+        return totals.count();
+    }
+
+    private ValidationResult validate(String token) {
+        try {
+            return jwtValidationService.validateInBulk(token);
+        } catch (RuntimeException e) {
+            log.error("Unexpected exception validating streamed token", e.getMessage());
+            return ValidationResult.ERROR;
+        }
+    }
+
+    /**
+     * @return the token of a line, or {@code null} when the line is neither a JSON string
+     *         nor an object with a string {@code token} field, or holds anything after it
+     */
+    private static String token(byte[] line, int length) {
+        try (JsonParser parser = JSON_FACTORY.createParser(line, 0, length)) {
+            JsonToken first = parser.nextToken();
+            String token = null;
+            if (first == JsonToken.VALUE_STRING) {
+                token = parser.getText();
+            } else if (first == JsonToken.START_OBJECT) {
+                JsonToken next;
+                while ((next = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    boolean isToken = "token".equals(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (isToken && value == JsonToken.VALUE_STRING) {
+                        token = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                // A truncated object ends without END_OBJECT.
+                if (next != JsonToken.END_OBJECT) {
+                    return null;
+                }
+            }
+            return parser.nextToken() == null ? token : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[][] answers() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ValidationResult[] results = ValidationResult.values();
+        byte[][] answers = new byte[results.length][];
+        for (ValidationResult result : results) {
+            try {
+                String json = objectMapper.writeValueAsString(ValidationDetailResponseDTO.of(result));
+                answers[result.ordinal()] = (json + "\n").getBytes(StandardCharsets.UTF_8);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return answers;
+    }
+
+    /**
+     * Outcomes of the lines answered so far, tagged once on the request span.
+     */
+    private static final class Totals {
+
+        private long valid;
+        private long rejected;
+        private long errors;
+
+        ValidationResult count(ValidationResult result) {
+            if (result.isValid()) {
+                valid++;
+            } else if (result == ValidationResult.ERROR) {
+                errors++;
+            } else {
+                rejected++;
+            }
+            return result;
+        }
+
+        long count() {
+            return valid + rejected + errors;
+        }
+
+        void tag() {
+            DataDogUtils.tagSpanTotals(valid, rejected, errors);
+        }
+    }
+
+    /**
+     * Remembers whether writing to the client failed, to tell a client that went away
+     * from a failure reading its input.
+     */
+    private static final class ClientOutput extends FilterOutputStream {
+
+        private boolean failed;
+
+        ClientOutput(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Splits the input into lines through a fixed buffer, dropping the part of a line
+     * beyond the maximum length. Pending answers are flushed before any read that may
+     * block.
+     */
+    private static final class LineReader {
+
+        private final InputStream in;
+        private final OutputStream pending;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] line;
+        private int position;
+        private int limit;
+
+        LineReader(InputStream in, OutputStream pending, int maxLineLength) {
+            this.in = in;
+            this.pending = pending;
+            this.line = new byte[maxLineLength];
+        }
+
+        byte[] line() {
+            return line;
+        }
+
+        /**
+         * @return the length of the next line, {@link #TOO_LONG} when it exceeds the
+         *         maximum, or {@link #END} at the end of the input
+         */
+        int next() throws IOException {
+            int length = 0;
+            boolean tooLong = false;
+            while (true) {
+                if (position == limit && !fill()) {
+                    if (length == 0 && !tooLong) {
+                        return END;
+                    }
+                    return tooLong ? TOO_LONG : length;
+                }
+                byte b = buffer[position++];
+                if (b == '\n') {
+                    return tooLong ? TOO_LONG : length;
+                }
+                if (length < line.length) {
+                    line[length++] = b;
+                } else {
+                    tooLong = true;
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (in.available() == 0) {
+                pending.flush();
+            }
+            int read = in.read(buffer);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+}
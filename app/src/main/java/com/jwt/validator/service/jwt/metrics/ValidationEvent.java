@@ -0,0 +1,41 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one token validation, from the call to
+ * {@code validate} to its result, including answers served from the result cache.
+ */
+@Name("com.jwt.validator.Validation")
+@Label("JWT Validation")
+@Category("JWT Validator")
+@Description("One token validation")
+@StackTrace(false)
+class ValidationEvent extends Event {
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Token Length")
+    int tokenLength;
+
+    @Label("Outcome")
+    @Description("valid, rejected or error")
+    String outcome;
+
+    @Label("Reason")
+    @Description("Rejection reason tag, when rejected")
+    String reason;
+
+    @Label("Seed Digits")
+    @Description("Decimal digits of the Seed claim, 0 when it was not reached")
+    int seedDigits;
+
+    @Label("Cached")
+    boolean cached;
+}
@@ -0,0 +1,89 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import com.jwt.validator.config.FlightRecordingProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits the Flight Recorder events of the validation pipeline: a
+ * {@code com.jwt.validator.Validation} event per validation and a
+ * {@code com.jwt.validator.ValidationStage} event per stage it went through, all carrying
+ * the correlation id, token length, outcome and seed magnitude.
+ *
+ * <p>Nothing is allocated unless a recording has the events enabled. With
+ * {@code jwt.jfr.slow-request-threshold} set, a validation faster than the threshold
+ * commits none of its events, so a recording left running in production only holds the
+ * requests behind a latency spike.</p>
+ */
+@Component
+public class ValidationFlightRecorder {
+
+    private static final EventType VALIDATION_EVENT = EventType.getEventType(ValidationEvent.class);
+    private static final ValidationStage[] STAGES = ValidationStage.values();
+
+    private final long slowRequestThresholdNanos;
+
+    public ValidationFlightRecorder(FlightRecordingProperties properties) {
+        this.slowRequestThresholdNanos = properties.slowRequestThreshold().toNanos();
+    }
+
+    /**
+     * Starts tracing the validation of {@code token}.
+     *
+     * @return the trace to pass to the stages and to {@link #finish}
+     */
+    public ValidationTrace begin(String token) {
+        if (!VALIDATION_EVENT.isEnabled()) {
+            return ValidationTrace.OFF;
+        }
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        return new ValidationTrace(event, token != null ? token.length() : 0);
+    }
+
+    /**
+     * Ends {@code trace} and commits its events when the validation was slow enough. The
+     * stage events were already ended around their stages and keep those times.
+     *
+     * @return {@code result}, for use in return statements
+     */
+    public ValidationResult finish(ValidationTrace trace, ValidationResult result, boolean cached) {
+        if (!trace.isRecording()) {
+            return result;
+        }
+        ValidationEvent event = trace.event();
+        event.end();
+        if (System.nanoTime() - trace.startNanos() < slowRequestThresholdNanos || !event.shouldCommit()) {
+            return result;
+        }
+        String correlationId = RequestUUIDHolder.getUuid();
+        String outcome = outcome(result);
+        event.correlationId = correlationId;
+        event.tokenLength = trace.tokenLength();
+        event.outcome = outcome;
+        event.reason = result.reason() != null ? result.reason().tag() : null;
+        event.seedDigits = trace.seedDigits();
+        event.cached = cached;
+        event.commit();
+        for (ValidationStage stage : STAGES) {
+            ValidationStageEvent stageEvent = trace.stageEvent(stage);
+            if (stageEvent != null) {
+                stageEvent.correlationId = correlationId;
+                stageEvent.tokenLength = trace.tokenLength();
+                stageEvent.outcome = outcome;
+                stageEvent.seedDigits = trace.seedDigits();
+                stageEvent.commit();
+            }
+        }
+        return result;
+    }
+
+    private static String outcome(ValidationResult result) {
+        if (result.isValid()) {
+            return "valid";
+        }
+        return result == ValidationResult.ERROR ? "error" : "rejected";
+    }
+}
@@ -0,0 +1,95 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instruments of the validation pipeline. Every meter is registered up front
+ * and looked up by ordinal, so recording on the hot path allocates nothing and never
+ * touches the registry.
+ *
+ * <ul>
+ *     <li>{@code jwt.validation.stage{stage}}: time spent in each {@link ValidationStage}</li>
+ *     <li>{@code jwt.validation.outcomes{outcome, reason}}: validated tokens by outcome
+ *     ({@code valid}, {@code rejected}, {@code error}) and {@link RejectionReason}, whether
+ *     evaluated or answered by the result cache, so the counts do not move with the hit
+ *     ratio</li>
+ * </ul>
+ */
+@Component
+public class ValidationMetrics {
+
+    static final String STAGE_TIMER = "jwt.validation.stage";
+    static final String OUTCOME_COUNTER = "jwt.validation.outcomes";
+    private static final String NO_REASON = "none";
+
+    private final Timer[] stageTimers;
+    private final Counter[] rejections;
+    private final Counter accepted;
+    private final Counter errors;
+
+    public ValidationMetrics(MeterRegistry registry) {
+        ValidationStage[] stages = ValidationStage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (ValidationStage stage : stages) {
+            stageTimers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                    .description("Time spent in one stage of JWT validation")
+                    .tag("stage", stage.tag())
+                    .register(registry);
+        }
+
+        RejectionReason[] reasons = RejectionReason.values();
+        this.rejections = new Counter[reasons.length];
+        for (RejectionReason reason : reasons) {
+            rejections[reason.ordinal()] = outcome(registry, "rejected", reason.tag());
+        }
+        this.accepted = outcome(registry, "valid", NO_REASON);
+        this.errors = outcome(registry, "error", NO_REASON);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} against {@code stage}.
+     *
+     * @return the current {@link System#nanoTime()}, to be used as the start of the next stage
+     */
+    public long stageCompleted(ValidationStage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Same as {@link #stageCompleted(ValidationStage, long)}, also ending the stage in
+     * {@code trace}.
+     */
+    public long stageCompleted(ValidationStage stage, long startNanos, ValidationTrace trace) {
+        long now = stageCompleted(stage, startNanos);
+        trace.stage(stage);
+        return now;
+    }
+
+    public void accepted() {
+        accepted.increment();
+    }
+
+    public void rejected(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    public void failed() {
+        errors.increment();
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome, String reason) {
+        return Counter.builder(OUTCOME_COUNTER)
+                .description("JWT validation outcomes")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jwt.validator.service.jwt.metrics;
+
+/**
+ * Steps of the validation pipeline, in execution order. {@link #tag()} is the value of the
+ * {@code stage} tag on {@code jwt.validation.stage}.
+ */
+public enum ValidationStage {
+    SPLIT("split"),
+    HEADER("header"),
+    DECODE("decode"),
+    PARSE("parse"),
+    CLAIMS("claims"),
+    PRIME("prime"),
+    SIGNATURE("signature");
+
+    private final String tag;
+
+    ValidationStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
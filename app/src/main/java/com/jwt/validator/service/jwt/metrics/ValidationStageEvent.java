@@ -0,0 +1,37 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one {@link ValidationStage} of a validation, begun and ended
+ * around the stage so its start time and duration are those of the stage. Stage events
+ * are only known to be worth keeping once the whole validation has finished, so
+ * {@link ValidationTrace} holds them until they are committed together at its end.
+ */
+@Name("com.jwt.validator.ValidationStage")
+@Label("JWT Validation Stage")
+@Category("JWT Validator")
+@Description("Time spent in one stage of a token validation")
+@StackTrace(false)
+class ValidationStageEvent extends Event {
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Token Length")
+    int tokenLength;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Seed Digits")
+    int seedDigits;
+}
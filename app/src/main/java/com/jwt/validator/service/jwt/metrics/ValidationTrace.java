@@ -0,0 +1,111 @@
+package com.jwt.validator.service.jwt.metrics;
+
+/**
+ * What one validation records for Flight Recorder: when it started, one
+ * {@link ValidationStageEvent} per {@link ValidationStage} it went through, begun and ended
+ * around the stage, and how large the seed was. The stage events are held until
+ * {@link ValidationFlightRecorder#finish} decides whether they are worth committing. Obtained from
+ * {@link ValidationFlightRecorder#begin(String)}; when no recording wants the events, the
+ * shared {@link #OFF} trace is handed out and every call on it is a no-op.
+ */
+public final class ValidationTrace {
+
+    static final ValidationTrace OFF = new ValidationTrace(null, 0);
+
+    private final ValidationEvent event;
+    private final int tokenLength;
+    private final long startNanos;
+    private final ValidationStageEvent[] stageEvents;
+    private ValidationStageEvent runningStage;
+    private int seedDigits;
+
+    ValidationTrace(ValidationEvent event, int tokenLength) {
+        this.event = event;
+        this.tokenLength = tokenLength;
+        this.startNanos = System.nanoTime();
+        this.stageEvents = event != null ? new ValidationStageEvent[ValidationStage.values().length] : null;
+    }
+
+    /**
+     * Starts the first stage.
+     *
+     * @return the current {@link System#nanoTime()}, to be used as the start of that stage
+     */
+    public long startStages() {
+        if (event != null) {
+            runningStage = startStage();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the decimal magnitude of the {@code Seed} claim, which drives the cost of the
+     * prime check.
+     */
+    public void seed(String seed) {
+        if (event != null && seed != null) {
+            seedDigits = digits(seed);
+        }
+    }
+
+    /**
+     * Ends the running stage as {@code stage} and starts the next one, which is dropped if
+     * no other stage follows.
+     */
+    void stage(ValidationStage stage) {
+        if (event != null && runningStage != null) {
+            runningStage.end();
+            runningStage.stage = stage.tag();
+            stageEvents[stage.ordinal()] = runningStage;
+            runningStage = startStage();
+        }
+    }
+
+    boolean isRecording() {
+        return event != null;
+    }
+
+    ValidationEvent event() {
+        return event;
+    }
+
+    int tokenLength() {
+        return tokenLength;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return the ended event of {@code stage}, or {@code null} when it did not run
+     */
+    ValidationStageEvent stageEvent(ValidationStage stage) {
+        return stageEvents[stage.ordinal()];
+    }
+
+    int seedDigits() {
+        return seedDigits;
+    }
+
+    private static ValidationStageEvent startStage() {
+        ValidationStageEvent stageEvent = new ValidationStageEvent();
+        stageEvent.begin();
+        return stageEvent;
+    }
+
+    /**
+     * Counts the significant decimal digits of {@code seed}, ignoring signs, leading zeros
+     * and anything that is not a digit.
+     */
+    static int digits(String seed) {
+        int digits = 0;
+        for (int i = 0; i < seed.length(); i++) {
+            char c = seed.charAt(i);
+            if (c >= '1' && c <= '9' || c == '0' && digits > 0) {
+                digits++;
+            }
+        }
+        return digits;
+    }
+}
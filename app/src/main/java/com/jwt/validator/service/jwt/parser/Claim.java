@@ -0,0 +1,65 @@
+package com.jwt.validator.service.jwt.parser;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+
+/**
+ * Claims a payload may carry. Any other field makes the payload structurally invalid.
+ */
+public enum Claim {
+    NAME("Name", RejectionReason.NAME),
+    ROLE("Role", RejectionReason.ROLE),
+    SEED("Seed", RejectionReason.SEED);
+
+    private final String fieldName;
+    private final RejectionReason reason;
+
+    Claim(String fieldName, RejectionReason reason) {
+        this.fieldName = fieldName;
+        this.reason = reason;
+    }
+
+    /**
+     * @return the claim named {@code fieldName}, or {@code null} when there is none
+     */
+    public static Claim fromField(String fieldName) {
+        switch (fieldName) {
+            case "Name":
+                return NAME;
+            case "Role":
+                return ROLE;
+            case "Seed":
+                return SEED;
+            default:
+                return null;
+        }
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * The reason a token is rejected with when this claim fails validation.
+     */
+    public RejectionReason reason() {
+        return reason;
+    }
+
+    /**
+     * This claim's bit in a field mask.
+     */
+    public int flag() {
+        return 1 << ordinal();
+    }
+
+    public String valueOf(PayloadClaims claims) {
+        switch (this) {
+            case NAME:
+                return claims.name();
+            case ROLE:
+                return claims.role();
+            default:
+                return claims.seed();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jwt.validator.service.jwt.parser;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+
+/**
+ * Outcome of {@link StreamingPayloadParser#parse}: either the claims or the reason the
+ * payload was refused. Failures are shared constants, so rejecting a payload allocates
+ * nothing.
+ */
+public record ParsedPayload(
+        PayloadClaims claims,
+        RejectionReason rejection
+) {
+    static final ParsedPayload INVALID_STRUCTURE = new ParsedPayload(null, RejectionReason.STRUCTURE);
+    static final ParsedPayload MALFORMED_JSON = new ParsedPayload(null, RejectionReason.JSON);
+
+    static ParsedPayload of(PayloadClaims claims) {
+        return new ParsedPayload(claims, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jwt.validator.service.jwt.parser;
+
+/**
+ * Claims of a structurally valid payload, in their textual form and not yet validated.
+ */
+public record PayloadClaims(
+        String name,
+        String role,
+        String seed
+) {}
@@ -0,0 +1,109 @@
+package com.jwt.validator.service.jwt.parser;
+
+import com.jwt.validator.utils.codec.JsonObjectReader;
+import com.jwt.validator.utils.logs.LogManager;
+
+/**
+ * Single-pass structural check of the JWT payload. Reads the decoded bytes with a
+ * {@link JsonObjectReader} and collects the claims as they arrive, so no intermediate
+ * {@code String} or {@code JsonNode} tree is built for the payload and malformed JSON is
+ * refused without an exception. Claim values are checked afterwards by
+ * {@link com.jwt.validator.service.jwt.rules.ClaimsValidator}.
+ *
+ * <p>Accepts an object holding only the fields of {@link Claim}, each at most once and
+ * every required one present, and reads values through their textual form as
+ * {@code readTree} followed by {@code asText} did.</p>
+ */
+public class StreamingPayloadParser {
+
+    private static final LogManager<StreamingPayloadParser> log = new LogManager<>(StreamingPayloadParser.class);
+
+    /**
+     * Parses the payload held in {@code data[offset, offset + length)}.
+     *
+     * @param requiredFields {@link Claim#flag() flags} of the claims that must be present
+     * @return the claims, or a {@link com.jwt.validator.service.jwt.RejectionReason#STRUCTURE}
+     *         rejection when the payload does not have the expected fields and a
+     *         {@link com.jwt.validator.service.jwt.RejectionReason#JSON} one when it is not
+     *         valid JSON
+     */
+    public ParsedPayload parse(byte[] data, int offset, int length, int requiredFields) {
+        if (!isUtf8Candidate(data, offset, length)) {
+            log.warn("Invalid payload structure. Expected fields: Name, Role, Seed");
+            return ParsedPayload.INVALID_STRUCTURE;
+        }
+
+        JsonObjectReader reader = new JsonObjectReader(data, offset, length);
+        int root = reader.begin();
+        if (root == JsonObjectReader.MALFORMED) {
+            return malformed();
+        }
+        if (root != JsonObjectReader.OBJECT) {
+            log.warn("Invalid payload structure. Expected fields: Name, Role, Seed");
+            return ParsedPayload.INVALID_STRUCTURE;
+        }
+
+        int seen = 0;
+        String name = null;
+        String role = null;
+        String seed = null;
+
+        int next;
+        while ((next = reader.nextField()) == JsonObjectReader.FIELD) {
+            String fieldName = reader.name();
+            Claim claim = Claim.fromField(fieldName);
+            if (claim == null || (seen & claim.flag()) != 0) {
+                log.warn("Invalid payload structure. Unexpected or duplicated field", fieldName);
+                return ParsedPayload.INVALID_STRUCTURE;
+            }
+            seen |= claim.flag();
+
+            String value = reader.readValueAsText();
+            if (value == null) {
+                return malformed();
+            }
+
+            switch (claim) {
+                case NAME -> name = value;
+                case ROLE -> role = value;
+                case SEED -> seed = value;
+            }
+        }
+        if (next == JsonObjectReader.MALFORMED) {
+            return malformed();
+        }
+
+        if ((seen & requiredFields) != requiredFields) {
+            log.warn("Invalid payload structure. Missing required field");
+            return ParsedPayload.INVALID_STRUCTURE;
+        }
+
+        return ParsedPayload.of(new PayloadClaims(name, role, seed));
+    }
+
+    private static ParsedPayload malformed() {
+        log.warn("Invalid JSON payload");
+        return ParsedPayload.MALFORMED_JSON;
+    }
+
+    /**
+     * The payload used to be decoded as UTF-8 and parsed by Jackson, which auto-detected
+     * UTF-16/32 and stripped a BOM; those inputs keep being refused as a structure error.
+     * Neither a NUL nor a leading non-ASCII byte can start a valid UTF-8 JSON object.
+     */
+    private static boolean isUtf8Candidate(byte[] data, int offset, int length) {
+        if (length == 0) {
+            return false;
+        }
+        if (data[offset] < 0) {
+            return false;
+        }
+        int probe = Math.min(length, 4);
+        for (int i = 0; i < probe; i++) {
+            if (data[offset + i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
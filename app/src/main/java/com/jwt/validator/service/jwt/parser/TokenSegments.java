@@ -0,0 +1,60 @@
+package com.jwt.validator.service.jwt.parser;
+
+/**
+ * Segment boundaries of a compact-serialized JWT ({@code header.payload.signature}),
+ * found by scanning for the two separators instead of splitting the token. Instances
+ * are mutable and meant to be reused through {@link ValidationScratch}.
+ */
+public final class TokenSegments {
+
+    private int length;
+    private int headerEnd = -1;
+    private int payloadEnd = -1;
+
+    /**
+     * Locates the separators of {@code token}.
+     *
+     * @return {@code false} unless the token has exactly three segments
+     */
+    public boolean scan(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) {
+            headerEnd = -1;
+            payloadEnd = -1;
+            return false;
+        }
+        length = token.length();
+        headerEnd = first;
+        payloadEnd = second;
+        return true;
+    }
+
+    public int headerStart() {
+        return 0;
+    }
+
+    public int headerEnd() {
+        return headerEnd;
+    }
+
+    public int payloadStart() {
+        return headerEnd + 1;
+    }
+
+    public int payloadEnd() {
+        return payloadEnd;
+    }
+
+    public int payloadLength() {
+        return payloadEnd - headerEnd - 1;
+    }
+
+    public int signatureStart() {
+        return payloadEnd + 1;
+    }
+
+    public int signatureEnd() {
+        return length;
+    }
+}
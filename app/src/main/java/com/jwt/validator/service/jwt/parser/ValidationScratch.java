@@ -0,0 +1,79 @@
+package com.jwt.validator.service.jwt.parser;
+
+import com.jwt.validator.utils.concurrent.ThreadScoped;
+
+/**
+ * Per-thread working memory for the validation hot path: the segment index of the
+ * current token and two decode buffers, one for the payload and one for the header and
+ * signature, grown on demand and reused across calls. Instances are scoped through
+ * {@link ThreadScoped}, so virtual threads reuse pooled scratch instead of allocating it
+ * per request.
+ * Buffers above {@link #RETAINED_BUFFER_LIMIT} are handed out once and not kept, so an
+ * oversized token cannot pin memory on a pooled thread.
+ */
+public final class ValidationScratch {
+
+    static final int INITIAL_BUFFER_SIZE = 1024;
+    static final int RETAINED_BUFFER_LIMIT = 16 * 1024;
+
+    private static final ThreadScoped<ValidationScratch> SCRATCH = new ThreadScoped<>(ValidationScratch::new);
+
+    private final TokenSegments segments = new TokenSegments();
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private byte[] signatureBuffer = new byte[INITIAL_BUFFER_SIZE];
+
+    private ValidationScratch() {
+    }
+
+    /**
+     * Returns the scratch of the calling thread. Must be paired with {@link #release()}.
+     */
+    public static ValidationScratch acquire() {
+        return SCRATCH.acquire();
+    }
+
+    public void release() {
+        SCRATCH.release(this);
+    }
+
+    public TokenSegments segments() {
+        return segments;
+    }
+
+    /**
+     * Returns the payload buffer, at least {@code capacity} bytes long. Its content is
+     * undefined.
+     */
+    public byte[] buffer(int capacity) {
+        if (capacity > buffer.length) {
+            byte[] grown = grow(buffer, capacity);
+            if (grown.length <= RETAINED_BUFFER_LIMIT) {
+                buffer = grown;
+            }
+            return grown;
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the header/signature buffer, at least {@code capacity} bytes long. Its
+     * content is undefined; it never aliases the payload buffer.
+     */
+    public byte[] signatureBuffer(int capacity) {
+        if (capacity > signatureBuffer.length) {
+            byte[] grown = grow(signatureBuffer, capacity);
+            if (grown.length <= RETAINED_BUFFER_LIMIT) {
+                signatureBuffer = grown;
+            }
+            return grown;
+        }
+        return signatureBuffer;
+    }
+
+    private static byte[] grow(byte[] current, int capacity) {
+        if (capacity > RETAINED_BUFFER_LIMIT) {
+            return new byte[capacity];
+        }
+        return new byte[Math.min(Math.max(capacity, current.length << 1), RETAINED_BUFFER_LIMIT)];
+    }
+}
@@ -0,0 +1,41 @@
+package com.jwt.validator.service.jwt.prefilter;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.utils.tracing.SpanTag;
+
+/**
+ * Why {@link TokenPreFilter} refused a token. {@link #tag()} is the value used in metrics
+ * and must stay stable once published.
+ */
+public enum PreFilterRejection {
+    TOKEN_TOO_LONG("token_length", RejectionReason.SIZE, SpanTag.OVERSIZED_TOKEN),
+    SEGMENT_TOO_LONG("segment_length", RejectionReason.SIZE, SpanTag.OVERSIZED_TOKEN),
+    PAYLOAD_TOO_LARGE("payload_size", RejectionReason.SIZE, SpanTag.OVERSIZED_TOKEN),
+    SEGMENT_COUNT("segment_count", RejectionReason.STRUCTURE, SpanTag.INVALID_STRUCTURE),
+    ALPHABET("alphabet", RejectionReason.BASE64, SpanTag.BASE64_ERROR);
+
+    private final String tag;
+    private final RejectionReason reason;
+    private final SpanTag spanTag;
+
+    PreFilterRejection(String tag, RejectionReason reason, SpanTag spanTag) {
+        this.tag = tag;
+        this.reason = reason;
+        this.spanTag = spanTag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * The reason the token is reported as rejected with.
+     */
+    public RejectionReason reason() {
+        return reason;
+    }
+
+    public SpanTag spanTag() {
+        return spanTag;
+    }
+}
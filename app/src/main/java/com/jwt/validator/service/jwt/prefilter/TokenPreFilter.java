@@ -0,0 +1,121 @@
+package com.jwt.validator.service.jwt.prefilter;
+
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.utils.codec.Base64Url;
+import com.jwt.validator.utils.logs.LogManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * First stage of validation: refuses tokens that cannot be valid before any of them is
+ * decoded, hashed for the cache or copied. A single pass over the characters checks the
+ * total length, the number and length of segments and the Base64url alphabet, and the
+ * decoded payload size is bounded from the payload segment length alone. Nothing is
+ * allocated, so a flood of oversized or garbage tokens costs one scan each.
+ *
+ * <p>Refusals are counted as {@code jwt.validation.prefilter.rejections{reason}}.</p>
+ */
+@Component
+public class TokenPreFilter implements MeterBinder {
+
+    static final String REJECTION_COUNTER = "jwt.validation.prefilter.rejections";
+
+    private static final LogManager<TokenPreFilter> log = new LogManager<>(TokenPreFilter.class);
+    private static final boolean[] BASE64URL = new boolean[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            BASE64URL[c] = true;
+            BASE64URL[Character.toLowerCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            BASE64URL[c] = true;
+        }
+        BASE64URL['-'] = true;
+        BASE64URL['_'] = true;
+        // Padding is tolerated here; its placement is checked by the decoder.
+        BASE64URL['='] = true;
+    }
+
+    private final boolean enabled;
+    private final int maxTokenLength;
+    private final int maxSegmentLength;
+    private final int maxPayloadBytes;
+    private final LongAdder[] rejections = new LongAdder[PreFilterRejection.values().length];
+
+    public TokenPreFilter(TokenPreFilterProperties properties) {
+        this.enabled = properties.enabled();
+        this.maxTokenLength = properties.maxTokenLength();
+        this.maxSegmentLength = properties.maxSegmentLength();
+        this.maxPayloadBytes = properties.maxPayloadBytes();
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return {@code null} when the token may be valid, otherwise why it is refused
+     */
+    public PreFilterRejection check(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        int length = token.length();
+        if (length > maxTokenLength) {
+            return reject(PreFilterRejection.TOKEN_TOO_LONG);
+        }
+
+        int separators = 0;
+        int segmentStart = 0;
+        int payloadLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (++separators > 2) {
+                    return reject(PreFilterRejection.SEGMENT_COUNT);
+                }
+                if (i - segmentStart > maxSegmentLength) {
+                    return reject(PreFilterRejection.SEGMENT_TOO_LONG);
+                }
+                payloadLength = i - segmentStart;
+                segmentStart = i + 1;
+            } else if (c >= BASE64URL.length || !BASE64URL[c]) {
+                return reject(PreFilterRejection.ALPHABET);
+            }
+        }
+        if (separators != 2) {
+            return reject(PreFilterRejection.SEGMENT_COUNT);
+        }
+        if (length - segmentStart > maxSegmentLength) {
+            return reject(PreFilterRejection.SEGMENT_TOO_LONG);
+        }
+        if (Base64Url.maxDecodedLength(payloadLength) > maxPayloadBytes) {
+            return reject(PreFilterRejection.PAYLOAD_TOO_LARGE);
+        }
+        return null;
+    }
+
+    public long rejections(PreFilterRejection rejection) {
+        return rejections[rejection.ordinal()].sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (PreFilterRejection rejection : PreFilterRejection.values()) {
+            FunctionCounter.builder(REJECTION_COUNTER, rejections[rejection.ordinal()], LongAdder::sum)
+                    .description("Tokens refused before decoding")
+                    .tag("reason", rejection.tag())
+                    .register(registry);
+        }
+    }
+
+    private PreFilterRejection reject(PreFilterRejection rejection) {
+        rejections[rejection.ordinal()].increment();
+        log.debug("Token refused before decoding", rejection);
+        return rejection;
+    }
+}
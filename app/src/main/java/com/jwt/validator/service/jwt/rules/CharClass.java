@@ -0,0 +1,140 @@
+package com.jwt.validator.service.jwt.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled character class. ASCII membership is a lookup in a 128-bit table; other code
+ * points are searched in a sorted array of ranges.
+ *
+ * <p>The specification lists characters and {@code a-z} ranges. A {@code -} at either
+ * end is literal, and {@code \} escapes the next character.</p>
+ */
+final class CharClass {
+
+    /** Marks an unescaped {@code -}; outside the code point range so it cannot clash. */
+    private static final int RANGE = -1;
+
+    private final long[] ascii = new long[2];
+    private final int[] ranges;
+
+    private CharClass(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static CharClass compile(String specification) {
+        if (specification == null || specification.isEmpty()) {
+            throw new IllegalArgumentException("Empty character class");
+        }
+        int[] codePoints = unescape(specification);
+        List<int[]> spans = new ArrayList<>();
+        for (int i = 0; i < codePoints.length; i++) {
+            int first = literal(codePoints[i]);
+            int last = first;
+            if (i + 2 < codePoints.length && codePoints[i + 1] == RANGE) {
+                last = literal(codePoints[i + 2]);
+                i += 2;
+                if (last < first) {
+                    throw new IllegalArgumentException("Reversed range in character class: " + specification);
+                }
+            }
+            spans.add(new int[]{first, last});
+        }
+
+        spans.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] ranges = new int[spans.size() * 2];
+        int count = 0;
+        for (int[] span : spans) {
+            if (span[1] < 0x80) {
+                continue;
+            }
+            int first = Math.max(span[0], 0x80);
+            if (count > 0 && first <= ranges[count - 1] + 1) {
+                ranges[count - 1] = Math.max(ranges[count - 1], span[1]);
+            } else {
+                ranges[count++] = first;
+                ranges[count++] = span[1];
+            }
+        }
+
+        CharClass charClass = new CharClass(Arrays.copyOf(ranges, count));
+        for (int[] span : spans) {
+            for (int c = span[0]; c <= Math.min(span[1], 0x7F); c++) {
+                charClass.ascii[c >>> 6] |= 1L << c;
+            }
+        }
+        return charClass;
+    }
+
+    boolean contains(int codePoint) {
+        if (codePoint < 0x80) {
+            return (ascii[codePoint >>> 6] & (1L << codePoint)) != 0;
+        }
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (codePoint < ranges[middle * 2]) {
+                high = middle - 1;
+            } else if (codePoint > ranges[middle * 2 + 1]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether every code point of {@code value} belongs to the class
+     */
+    boolean containsAll(String value) {
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (!contains(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether any code point of {@code value} belongs to the class
+     */
+    boolean containsAny(String value) {
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (contains(codePoint)) {
+                return true;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return false;
+    }
+
+    private static int literal(int codePoint) {
+        return codePoint == RANGE ? '-' : codePoint;
+    }
+
+    private static int[] unescape(String specification) {
+        int[] codePoints = new int[specification.length()];
+        int count = 0;
+        for (int i = 0; i < specification.length(); ) {
+            int codePoint = specification.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == '\\') {
+                if (i == specification.length()) {
+                    throw new IllegalArgumentException("Dangling escape in character class: " + specification);
+                }
+                codePoint = specification.codePointAt(i);
+                i += Character.charCount(codePoint);
+            } else if (codePoint == '-') {
+                codePoint = RANGE;
+            }
+            codePoints[count++] = codePoint;
+        }
+        return Arrays.copyOf(codePoints, count);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jwt.validator.service.jwt.rules;
+
+import java.util.List;
+
+/**
+ * Declared rules of one claim, as read from the claim rules file. Every member is
+ * optional; an absent member does not constrain the value.
+ *
+ * @param required              whether the claim must be present (defaults to {@code true})
+ * @param minLength             minimum length in UTF-16 units
+ * @param maxLength             maximum length in UTF-16 units
+ * @param allowedCharacters     character class every character must belong to, e.g. {@code "A-Za-z "}
+ * @param forbiddenCharacters   character class no character may belong to, e.g. {@code "0-9"}
+ * @param allowedValues         exhaustive list of accepted values
+ * @param integer               whether the value must be an {@code int} in decimal notation
+ * @param min                   minimum value; implies {@code integer}
+ * @param max                   maximum value; implies {@code integer}
+ * @param prime                 whether the value must be a prime number; implies {@code integer}
+ */
+public record ClaimRule(
+        Boolean required,
+        Integer minLength,
+        Integer maxLength,
+        String allowedCharacters,
+        String forbiddenCharacters,
+        List<String> allowedValues,
+        Boolean integer,
+        Long min,
+        Long max,
+        Boolean prime
+) {}
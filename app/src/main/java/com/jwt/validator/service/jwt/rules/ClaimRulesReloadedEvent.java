@@ -0,0 +1,7 @@
+package com.jwt.validator.service.jwt.rules;
+
+/**
+ * Published after the claim rules were replaced, so outcomes computed with the previous
+ * rules can be discarded.
+ */
+public record ClaimRulesReloadedEvent(String source) {}
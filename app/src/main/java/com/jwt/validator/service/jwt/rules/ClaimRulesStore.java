@@ -0,0 +1,174 @@
+package com.jwt.validator.service.jwt.rules;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.utils.io.FileVersion;
+import com.jwt.validator.utils.logs.LogManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Holds the compiled {@link ClaimsValidator}. Rules come from the file at
+ * {@code jwt.claims.rules-path}, or from the bundled {@code claim-rules.json} when no path
+ * is set. A configured file is polled for changes and recompiled off the request path;
+ * the new validator replaces the old one with a single volatile write, and a file that
+ * fails to load on reload is logged while the previous rules stay in use.
+ */
+@Component
+public class ClaimRulesStore {
+
+    static final String BUNDLED_RULES = "/claim-rules.json";
+
+    private static final LogManager<ClaimRulesStore> log = new LogManager<>(ClaimRulesStore.class);
+    private static final TypeReference<LinkedHashMap<String, ClaimRule>> RULES_TYPE = new TypeReference<>() { };
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ClaimRulesProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile ClaimsValidator validator;
+    private volatile FileVersion loadedVersion;
+    private volatile long fingerprint;
+    private ScheduledExecutorService reloader;
+
+    /**
+     * Loads the rules right away, so a store is never without a validator.
+     *
+     * @throws IllegalStateException when the rules cannot be loaded or compiled
+     */
+    public ClaimRulesStore(ClaimRulesProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        try {
+            if (hasRulesFile()) {
+                loadFile();
+            } else {
+                loadBundled();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Unable to load claim rules from " + source(), e);
+        }
+    }
+
+    /**
+     * Rules bundled with the application, for tests and tools running without Spring.
+     */
+    public static ClaimsValidator defaultRules() {
+        try {
+            return compile(bundledRules());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load bundled claim rules", e);
+        }
+    }
+
+    public ClaimsValidator current() {
+        return validator;
+    }
+
+    /**
+     * @return checksum of the rules currently in use, to tell whether results computed
+     *         under other rules still apply
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    @PostConstruct
+    void start() {
+        long interval = properties.reloadInterval().toMillis();
+        if (!hasRulesFile() || interval <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-rules-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    void reloadIfChanged() {
+        try {
+            FileVersion version = FileVersion.of(Path.of(properties.rulesPath()));
+            if (!version.equals(loadedVersion)) {
+                loadFile();
+                eventPublisher.publishEvent(new ClaimRulesReloadedEvent(source()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Claim rules reload failed, keeping previous rules", source(), e);
+        }
+    }
+
+    private void loadFile() throws IOException {
+        Path path = Path.of(properties.rulesPath());
+        FileVersion version = FileVersion.of(path);
+        byte[] content = Files.readAllBytes(path);
+        install(compile(content), checksum(content));
+        loadedVersion = version;
+        log.info("Claim rules loaded", path);
+    }
+
+    private void loadBundled() throws IOException {
+        byte[] content = bundledRules();
+        install(compile(content), checksum(content));
+    }
+
+    /**
+     * The fingerprint is written after the validator: a caller that reads the new
+     * fingerprint is then guaranteed to see the new rules as well.
+     */
+    private void install(ClaimsValidator compiled, long checksum) {
+        validator = compiled;
+        fingerprint = checksum;
+    }
+
+    private static byte[] bundledRules() throws IOException {
+        try (InputStream rules = ClaimRulesStore.class.getResourceAsStream(BUNDLED_RULES)) {
+            if (rules == null) {
+                throw new IOException("Missing " + BUNDLED_RULES);
+            }
+            return rules.readAllBytes();
+        }
+    }
+
+    private static ClaimsValidator compile(byte[] content) throws IOException {
+        Map<String, ClaimRule> definitions = OBJECT_MAPPER.readValue(content, RULES_TYPE);
+        return ClaimsValidator.compile(definitions);
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    private boolean hasRulesFile() {
+        return StringUtils.hasText(properties.rulesPath());
+    }
+
+    private String source() {
+        return hasRulesFile() ? properties.rulesPath() : "classpath:" + BUNDLED_RULES;
+    }
+}
@@ -0,0 +1,194 @@
+package com.jwt.validator.service.jwt.rules;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.parser.Claim;
+import com.jwt.validator.service.jwt.parser.PayloadClaims;
+import com.jwt.validator.service.prime.PrimeService;
+import com.jwt.validator.utils.logs.LogManager;
+
+import java.util.Map;
+
+/**
+ * Claim rules compiled into a flat validator. Each {@link ClaimRule} is turned into
+ * bounds, precompiled {@link CharClass} tables and a perfect-hash {@link ValueSet} once,
+ * so validating a payload runs no regex and builds no collection. Instances are
+ * immutable; {@link ClaimRulesStore} swaps them as a whole when the rules change.
+ *
+ * <p>Claims are checked in {@link Claim} order and the first failure wins. Primality is
+ * checked separately by {@link #validatePrimes}, after every cheaper check passed.</p>
+ */
+public final class ClaimsValidator {
+
+    private static final LogManager<ClaimsValidator> log = new LogManager<>(ClaimsValidator.class);
+    static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private final CompiledRule[] rules;
+    private final int requiredFields;
+    private final boolean checksPrimes;
+
+    private ClaimsValidator(CompiledRule[] rules) {
+        this.rules = rules;
+        int required = 0;
+        boolean primes = false;
+        for (CompiledRule rule : rules) {
+            required |= rule.required ? rule.claim.flag() : 0;
+            primes |= rule.prime;
+        }
+        this.requiredFields = required;
+        this.checksPrimes = primes;
+    }
+
+    /**
+     * Compiles the rules keyed by claim field name. Claims without rules must still be
+     * present but are not otherwise constrained.
+     *
+     * @throws IllegalArgumentException when a rule names an unknown claim or is inconsistent
+     */
+    public static ClaimsValidator compile(Map<String, ClaimRule> definitions) {
+        for (String field : definitions.keySet()) {
+            if (Claim.fromField(field) == null) {
+                throw new IllegalArgumentException("Unknown claim in rules: " + field);
+            }
+        }
+        Claim[] claims = Claim.values();
+        CompiledRule[] rules = new CompiledRule[claims.length];
+        for (Claim claim : claims) {
+            rules[claim.ordinal()] = new CompiledRule(claim, definitions.get(claim.fieldName()));
+        }
+        return new ClaimsValidator(rules);
+    }
+
+    /**
+     * {@link Claim#flag() Flags} of the claims a payload must carry.
+     */
+    public int requiredFields() {
+        return requiredFields;
+    }
+
+    /**
+     * Checks every rule except primality.
+     *
+     * @return {@code null} when the claims are valid, otherwise the reason of the rejection
+     */
+    public RejectionReason validate(PayloadClaims claims) {
+        for (CompiledRule rule : rules) {
+            String value = rule.claim.valueOf(claims);
+            if (value != null && !rule.test(value)) {
+                return rule.claim.reason();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the claims that must be prime. Must only be called once {@link #validate}
+     * accepted the claims.
+     *
+     * @return {@code null} when the claims are valid, otherwise the reason of the rejection
+     */
+    public RejectionReason validatePrimes(PayloadClaims claims, PrimeService primeService) {
+        if (!checksPrimes) {
+            return null;
+        }
+        for (CompiledRule rule : rules) {
+            String value = rule.claim.valueOf(claims);
+            if (rule.prime && value != null) {
+                long number = parseInt(value);
+                if (number < 0 || !primeService.isPrime((int) number)) {
+                    log.warn("Claim is not a prime number", rule.claim.fieldName());
+                    return rule.claim.reason();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code value} as {@link Integer#parseInt} would, without throwing.
+     *
+     * @return the value, or {@link #NOT_AN_INT} when it is not an {@code int}
+     */
+    static long parseInt(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index = 1;
+        }
+        if (index == length) {
+            return NOT_AN_INT;
+        }
+        long result = 0;
+        for (; index < length; index++) {
+            int digit = Character.digit(value.charAt(index), 10);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+            result = result * 10 + digit;
+            if (result > Integer.MAX_VALUE + 1L) {
+                return NOT_AN_INT;
+            }
+        }
+        result = negative ? -result : result;
+        return result > Integer.MAX_VALUE ? NOT_AN_INT : result;
+    }
+
+    private static final class CompiledRule {
+        private final Claim claim;
+        private final boolean required;
+        private final int minLength;
+        private final int maxLength;
+        private final CharClass allowed;
+        private final CharClass forbidden;
+        private final ValueSet values;
+        private final boolean integer;
+        private final long min;
+        private final long max;
+        private final boolean prime;
+
+        CompiledRule(Claim claim, ClaimRule rule) {
+            ClaimRule declared = rule != null ? rule : new ClaimRule(null, null, null, null, null, null, null, null, null, null);
+            this.claim = claim;
+            this.required = declared.required() == null || declared.required();
+            this.minLength = declared.minLength() != null ? declared.minLength() : 0;
+            this.maxLength = declared.maxLength() != null ? declared.maxLength() : Integer.MAX_VALUE;
+            this.allowed = declared.allowedCharacters() != null ? CharClass.compile(declared.allowedCharacters()) : null;
+            this.forbidden = declared.forbiddenCharacters() != null
+                    ? CharClass.compile(declared.forbiddenCharacters()) : null;
+            this.values = declared.allowedValues() != null ? ValueSet.compile(declared.allowedValues()) : null;
+            this.min = declared.min() != null ? declared.min() : Integer.MIN_VALUE;
+            this.max = declared.max() != null ? declared.max() : Integer.MAX_VALUE;
+            this.prime = Boolean.TRUE.equals(declared.prime());
+            this.integer = prime || Boolean.TRUE.equals(declared.integer())
+                    || declared.min() != null || declared.max() != null;
+            if (minLength < 0 || minLength > maxLength || min > max) {
+                throw new IllegalArgumentException("Inconsistent bounds in rules of claim " + claim.fieldName());
+            }
+        }
+
+        boolean test(String value) {
+            int length = value.length();
+            if (length < minLength || length > maxLength) {
+                log.warn("Claim length out of bounds", claim.fieldName(), String.valueOf(length));
+                return false;
+            }
+            if (allowed != null && !allowed.containsAll(value) || forbidden != null && forbidden.containsAny(value)) {
+                log.warn("Claim contains characters that are not allowed", claim.fieldName());
+                return false;
+            }
+            if (values != null && !values.contains(value)) {
+                log.warn("Claim value not allowed", claim.fieldName(), value);
+                return false;
+            }
+            if (integer) {
+                long number = parseInt(value);
+                if (number == NOT_AN_INT || number < min || number > max) {
+                    log.warn("Claim is not an integer within bounds", claim.fieldName(), value);
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
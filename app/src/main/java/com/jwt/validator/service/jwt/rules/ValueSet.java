@@ -0,0 +1,73 @@
+package com.jwt.validator.service.jwt.rules;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Enumeration of accepted values compiled into a perfect hash: each value owns
+ * its own slot of a power-of-two table, so a lookup is one multiply, one shift and one
+ * {@code equals}, with no probing. The multiplier is searched once at compile time; sets
+ * whose values share a {@code hashCode} fall back to a regular {@link Set}.
+ */
+final class ValueSet {
+
+    private static final int MAX_TABLE_BITS = 16;
+    private static final int ATTEMPTS_PER_SIZE = 1 << 12;
+
+    private final String[] table;
+    private final int multiplier;
+    private final int shift;
+    private final Set<String> fallback;
+
+    private ValueSet(String[] table, int multiplier, int shift, Set<String> fallback) {
+        this.table = table;
+        this.multiplier = multiplier;
+        this.shift = shift;
+        this.fallback = fallback;
+    }
+
+    static ValueSet compile(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Empty list of allowed values");
+        }
+        Set<String> distinct = new LinkedHashSet<>(values);
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Null in list of allowed values");
+        }
+
+        SplittableRandom random = new SplittableRandom(distinct.size());
+        int minimumBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(distinct.size() - 1));
+        for (int bits = minimumBits; bits <= Math.min(MAX_TABLE_BITS, minimumBits + 2); bits++) {
+            String[] table = new String[1 << bits];
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+                int multiplier = random.nextInt() | 1;
+                if (place(distinct, table, multiplier, 32 - bits)) {
+                    return new ValueSet(table, multiplier, 32 - bits, null);
+                }
+            }
+        }
+        return new ValueSet(null, 0, 0, Set.copyOf(distinct));
+    }
+
+    boolean contains(String value) {
+        if (fallback != null) {
+            return fallback.contains(value);
+        }
+        return value.equals(table[(value.hashCode() * multiplier) >>> shift]);
+    }
+
+    private static boolean place(Set<String> values, String[] table, int multiplier, int shift) {
+        Arrays.fill(table, null);
+        for (String value : values) {
+            int slot = (value.hashCode() * multiplier) >>> shift;
+            if (table[slot] != null) {
+                return false;
+            }
+            table[slot] = value;
+        }
+        return true;
+    }
+}
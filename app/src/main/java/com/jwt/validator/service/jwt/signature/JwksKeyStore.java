@@ -0,0 +1,248 @@
+package com.jwt.validator.service.jwt.signature;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.utils.io.FileVersion;
+import com.jwt.validator.utils.logs.LogManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Verification keys parsed from a local JWKS file. Keys are parsed once per file version
+ * and published as an immutable snapshot, so lookups on the validation path are plain map
+ * reads. The file is polled for changes and swapped atomically; a file that fails to
+ * parse on reload is logged and the previous keys stay in use.
+ */
+@Component
+public class JwksKeyStore {
+
+    private static final LogManager<JwksKeyStore> log = new LogManager<>(JwksKeyStore.class);
+    private static final int MIN_HMAC_KEY_BYTES = 32;
+
+    private final SignatureProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private volatile FileVersion loadedVersion;
+    private volatile long fingerprint;
+    private ScheduledExecutorService reloader;
+
+    public JwksKeyStore(SignatureProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (!StringUtils.hasText(properties.jwksPath())) {
+            throw new IllegalStateException("jwt.signature.jwks-path is required when signature verification is enabled");
+        }
+        try {
+            load();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to load JWKS from " + properties.jwksPath(), e);
+        }
+
+        long interval = properties.reloadInterval().toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the key for {@code kid}, or the only key of {@code algorithm} when the token
+     * carries no {@code kid}. Returns {@code null} when no key matches the algorithm.
+     */
+    public VerificationKey find(String kid, JwsAlgorithm algorithm) {
+        KeySet current = keySet;
+        VerificationKey key = kid != null ? current.byKid().get(kid) : current.soleByAlgorithm().get(algorithm);
+        return key != null && key.algorithm() == algorithm ? key : null;
+    }
+
+    public int size() {
+        return keySet.byKid().size();
+    }
+
+    /**
+     * @return checksum of the JWKS file the current keys were loaded from, or {@code 0}
+     *         when no keys were loaded
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    void reloadIfChanged() {
+        try {
+            FileVersion version = FileVersion.of(Path.of(properties.jwksPath()));
+            if (!version.equals(loadedVersion)) {
+                load();
+            }
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.error("JWKS reload failed, keeping previous keys", properties.jwksPath(), e);
+        }
+    }
+
+    private void load() throws IOException, GeneralSecurityException {
+        Path path = Path.of(properties.jwksPath());
+        FileVersion version = FileVersion.of(path);
+        byte[] content = Files.readAllBytes(path);
+        KeySet loaded = parse(objectMapper.readTree(content));
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+
+        keySet = loaded;
+        loadedVersion = version;
+        fingerprint = crc.getValue();
+        log.info("JWKS loaded", loaded.byKid().size() + " keys from " + path);
+        eventPublisher.publishEvent(new JwksReloadedEvent(loaded.byKid().size()));
+    }
+
+    private static KeySet parse(JsonNode jwks) throws GeneralSecurityException {
+        JsonNode keys = jwks.path("keys");
+        if (!keys.isArray()) {
+            throw new GeneralSecurityException("JWKS has no \"keys\" array");
+        }
+
+        Map<String, VerificationKey> byKid = new HashMap<>();
+        Map<JwsAlgorithm, Integer> countByAlgorithm = new EnumMap<>(JwsAlgorithm.class);
+        Map<JwsAlgorithm, VerificationKey> soleByAlgorithm = new EnumMap<>(JwsAlgorithm.class);
+
+        int index = 0;
+        for (JsonNode jwk : keys) {
+            VerificationKey key = parseKey(jwk, index++);
+            if (key == null) {
+                continue;
+            }
+            if (byKid.putIfAbsent(key.kid(), key) != null) {
+                throw new GeneralSecurityException("Duplicated kid in JWKS: " + key.kid());
+            }
+            countByAlgorithm.merge(key.algorithm(), 1, Integer::sum);
+            soleByAlgorithm.put(key.algorithm(), key);
+        }
+        countByAlgorithm.forEach((algorithm, count) -> {
+            if (count > 1) {
+                soleByAlgorithm.remove(algorithm);
+            }
+        });
+
+        return new KeySet(Map.copyOf(byKid), Map.copyOf(soleByAlgorithm));
+    }
+
+    private static VerificationKey parseKey(JsonNode jwk, int index) throws GeneralSecurityException {
+        String kty = jwk.path("kty").asText();
+        String kid = jwk.hasNonNull("kid") ? jwk.get("kid").asText() : "#" + index;
+        String use = jwk.path("use").asText("sig");
+        if (!"sig".equals(use)) {
+            log.warn("Skipping JWK not meant for signatures", kid);
+            return null;
+        }
+
+        JwsAlgorithm algorithm;
+        switch (kty) {
+            case "oct":
+                algorithm = JwsAlgorithm.HS256;
+                break;
+            case "RSA":
+                algorithm = JwsAlgorithm.RS256;
+                break;
+            case "EC":
+                algorithm = JwsAlgorithm.ES256;
+                break;
+            default:
+                log.warn("Skipping JWK with unsupported key type", kid, kty);
+                return null;
+        }
+        if (jwk.hasNonNull("alg") && JwsAlgorithm.fromHeader(jwk.get("alg").asText()) != algorithm) {
+            log.warn("Skipping JWK with unsupported algorithm", kid, jwk.get("alg").asText());
+            return null;
+        }
+
+        switch (algorithm) {
+            case HS256: {
+                byte[] secret = decode(jwk, "k");
+                if (secret.length < MIN_HMAC_KEY_BYTES) {
+                    log.warn("Skipping HMAC JWK shorter than 256 bits", kid);
+                    return null;
+                }
+                return new VerificationKey(kid, algorithm, new SecretKeySpec(secret, algorithm.jcaName()));
+            }
+            case RS256: {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        new BigInteger(1, decode(jwk, "n")), new BigInteger(1, decode(jwk, "e")));
+                PublicKey key = KeyFactory.getInstance("RSA").generatePublic(spec);
+                return new VerificationKey(kid, algorithm, key);
+            }
+            default: {
+                if (!"P-256".equals(jwk.path("crv").asText())) {
+                    log.warn("Skipping EC JWK on unsupported curve", kid, jwk.path("crv").asText());
+                    return null;
+                }
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                ECPoint point = new ECPoint(new BigInteger(1, decode(jwk, "x")), new BigInteger(1, decode(jwk, "y")));
+                PublicKey key = KeyFactory.getInstance("EC")
+                        .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+                return new VerificationKey(kid, algorithm, key);
+            }
+        }
+    }
+
+    private static byte[] decode(JsonNode jwk, String member) throws GeneralSecurityException {
+        if (!jwk.hasNonNull(member)) {
+            throw new GeneralSecurityException("JWK is missing \"" + member + "\"");
+        }
+        try {
+            return Base64.getUrlDecoder().decode(jwk.get(member).asText());
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("JWK member \"" + member + "\" is not Base64url", e);
+        }
+    }
+
+    private record KeySet(Map<String, VerificationKey> byKid, Map<JwsAlgorithm, VerificationKey> soleByAlgorithm) {
+        static final KeySet EMPTY = new KeySet(Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,7 @@
+package com.jwt.validator.service.jwt.signature;
+
+/**
+ * Published after the verification keys were replaced, so outcomes computed with the
+ * previous keys can be discarded.
+ */
+public record JwksReloadedEvent(int keyCount) {}
@@ -0,0 +1,46 @@
+package com.jwt.validator.service.jwt.signature;
+
+/**
+ * JWS algorithms this service can verify, with the JCA engine and JWK key type each needs.
+ */
+public enum JwsAlgorithm {
+    HS256("HmacSHA256", "oct"),
+    RS256("SHA256withRSA", "RSA"),
+    ES256("SHA256withECDSAinP1363Format", "EC");
+
+    private final String jcaName;
+    private final String keyType;
+
+    JwsAlgorithm(String jcaName, String keyType) {
+        this.jcaName = jcaName;
+        this.keyType = keyType;
+    }
+
+    public String jcaName() {
+        return jcaName;
+    }
+
+    public String keyType() {
+        return keyType;
+    }
+
+    /**
+     * Maps an {@code alg} header value to an algorithm, or {@code null} when unsupported
+     * (including {@code none}).
+     */
+    public static JwsAlgorithm fromHeader(String alg) {
+        if (alg == null) {
+            return null;
+        }
+        switch (alg) {
+            case "HS256":
+                return HS256;
+            case "RS256":
+                return RS256;
+            case "ES256":
+                return ES256;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.jwt.validator.service.jwt.signature;
+
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.service.jwt.parser.TokenSegments;
+import com.jwt.validator.service.jwt.parser.ValidationScratch;
+import com.jwt.validator.utils.codec.Base64Url;
+import com.jwt.validator.utils.codec.JsonObjectReader;
+import com.jwt.validator.utils.concurrent.ThreadScoped;
+import com.jwt.validator.utils.logs.LogManager;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Verifies the JWS signature of a token in two steps. {@link #resolveKey} reads the
+ * header, enforces the algorithm allowlist and looks the key up without any crypto;
+ * {@link #verify} then checks the signature over {@code header.payload}.
+ *
+ * <p>{@link Mac} and {@link Signature} engines are kept per thread (pooled on virtual
+ * threads) together with the last key they were initialised with, so the hot path does no
+ * provider lookup and only re-initialises when an engine switches keys.</p>
+ */
+@Component
+public class SignatureVerifier {
+
+    private static final LogManager<SignatureVerifier> log = new LogManager<>(SignatureVerifier.class);
+    private static final int HS256_SIGNATURE_LENGTH = 32;
+    private static final int ES256_SIGNATURE_LENGTH = 64;
+
+    private static final ThreadScoped<MacEngine> HMAC = new ThreadScoped<>(MacEngine::new);
+    private static final ThreadScoped<SignatureEngine> RSA =
+            new ThreadScoped<>(() -> new SignatureEngine(JwsAlgorithm.RS256));
+    private static final ThreadScoped<SignatureEngine> ECDSA =
+            new ThreadScoped<>(() -> new SignatureEngine(JwsAlgorithm.ES256));
+
+    private final boolean enabled;
+    private final Set<JwsAlgorithm> allowedAlgorithms;
+    private final JwksKeyStore keyStore;
+
+    public SignatureVerifier(SignatureProperties properties, JwksKeyStore keyStore) {
+        this.enabled = properties.enabled();
+        this.allowedAlgorithms = properties.allowedAlgorithms().isEmpty()
+                ? EnumSet.noneOf(JwsAlgorithm.class)
+                : EnumSet.copyOf(properties.allowedAlgorithms());
+        this.keyStore = keyStore;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads {@code alg} and {@code kid} from the header segment and returns the key the
+     * signature must be checked with.
+     *
+     * @return the key, or {@code null} when the header is malformed, the algorithm is not
+     *         allowed or no key matches
+     */
+    public VerificationKey resolveKey(String token, TokenSegments segments, ValidationScratch scratch) {
+        int headerLength = segments.headerEnd() - segments.headerStart();
+        byte[] header = scratch.signatureBuffer(Base64Url.maxDecodedLength(headerLength));
+        int length = Base64Url.decode(token, segments.headerStart(), segments.headerEnd(), header, 0);
+        if (length == Base64Url.MALFORMED) {
+            log.warn("Invalid JWT header: malformed Base64url");
+            return null;
+        }
+
+        String alg = null;
+        String kid = null;
+        JsonObjectReader reader = new JsonObjectReader(header, 0, length);
+        if (reader.begin() != JsonObjectReader.OBJECT) {
+            log.warn("Invalid JWT header: not a JSON object");
+            return null;
+        }
+        int next;
+        while ((next = reader.nextField()) == JsonObjectReader.FIELD) {
+            String field = reader.name();
+            if ("alg".equals(field) || "kid".equals(field)) {
+                boolean duplicated = "alg".equals(field) ? alg != null : kid != null;
+                if (!reader.isStringValue() || duplicated) {
+                    log.warn("Invalid JWT header field", field);
+                    return null;
+                }
+                String value = reader.readValueAsText();
+                if (value == null) {
+                    break;
+                }
+                if ("alg".equals(field)) {
+                    alg = value;
+                } else {
+                    kid = value;
+                }
+            } else if (!reader.skipValue()) {
+                break;
+            }
+        }
+        if (next != JsonObjectReader.END) {
+            log.warn("Invalid JWT header: malformed JSON");
+            return null;
+        }
+
+        JwsAlgorithm algorithm = JwsAlgorithm.fromHeader(alg);
+        if (algorithm == null || !allowedAlgorithms.contains(algorithm)) {
+            log.warn("JWT algorithm not allowed", alg);
+            return null;
+        }
+
+        VerificationKey key = keyStore.find(kid, algorithm);
+        if (key == null) {
+            log.warn("No verification key for token", kid, alg);
+        }
+        return key;
+    }
+
+    /**
+     * Checks the signature segment against {@code header.payload} using {@code key}.
+     * Must only be called for tokens whose header and payload segments decoded as
+     * Base64url, so the signing input is ASCII.
+     */
+    public boolean verify(VerificationKey key, String token, TokenSegments segments, ValidationScratch scratch) {
+        int signingInputLength = segments.payloadEnd();
+        int signatureLength = segments.signatureEnd() - segments.signatureStart();
+        byte[] buffer = scratch.signatureBuffer(signingInputLength + Base64Url.maxDecodedLength(signatureLength));
+
+        for (int i = 0; i < signingInputLength; i++) {
+            buffer[i] = (byte) token.charAt(i);
+        }
+        int decodedLength = Base64Url.decode(
+                token, segments.signatureStart(), segments.signatureEnd(), buffer, signingInputLength);
+        if (decodedLength == Base64Url.MALFORMED) {
+            log.warn("Invalid JWT signature: malformed Base64url");
+            return false;
+        }
+
+        try {
+            boolean valid = switch (key.algorithm()) {
+                case HS256 -> decodedLength == HS256_SIGNATURE_LENGTH
+                        && verifyMac(key, buffer, signingInputLength, decodedLength);
+                case RS256 -> verifySignature(RSA, key, buffer, signingInputLength, decodedLength);
+                case ES256 -> decodedLength == ES256_SIGNATURE_LENGTH
+                        && verifySignature(ECDSA, key, buffer, signingInputLength, decodedLength);
+            };
+            if (!valid) {
+                log.warn("Invalid JWT signature", key.kid());
+            }
+            return valid;
+        } catch (GeneralSecurityException e) {
+            log.warn("JWT signature verification error", key.kid(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean verifyMac(VerificationKey key, byte[] buffer, int signatureOffset, int signatureLength)
+            throws GeneralSecurityException {
+        MacEngine engine = HMAC.acquire();
+        try {
+            return engine.verify(key.key(), buffer, signatureOffset, signatureLength);
+        } finally {
+            HMAC.release(engine);
+        }
+    }
+
+    private static boolean verifySignature(ThreadScoped<SignatureEngine> engines, VerificationKey key, byte[] buffer,
+                                           int signatureOffset, int signatureLength) throws GeneralSecurityException {
+        SignatureEngine engine = engines.acquire();
+        try {
+            return engine.verify(key.key(), buffer, signatureOffset, signatureLength);
+        } finally {
+            engines.release(engine);
+        }
+    }
+
+    /**
+     * HMAC engine of one thread. {@code buffer} holds the signing input followed by the
+     * signature to check.
+     */
+    private static final class MacEngine {
+        private final Mac mac;
+        private final byte[] expected = new byte[HS256_SIGNATURE_LENGTH];
+        private Key initializedWith;
+
+        MacEngine() {
+            try {
+                mac = Mac.getInstance(JwsAlgorithm.HS256.jcaName());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        boolean verify(Key key, byte[] buffer, int signatureOffset, int signatureLength)
+                throws GeneralSecurityException {
+            if (key != initializedWith) {
+                mac.init(key);
+                initializedWith = key;
+            }
+            mac.update(buffer, 0, signatureOffset);
+            mac.doFinal(expected, 0);
+
+            int difference = 0;
+            for (int i = 0; i < signatureLength; i++) {
+                difference |= expected[i] ^ buffer[signatureOffset + i];
+            }
+            return difference == 0;
+        }
+    }
+
+    private static final class SignatureEngine {
+        private final Signature signature;
+        private Key initializedWith;
+
+        SignatureEngine(JwsAlgorithm algorithm) {
+            try {
+                signature = Signature.getInstance(algorithm.jcaName());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        boolean verify(Key key, byte[] buffer, int signatureOffset, int signatureLength)
+                throws GeneralSecurityException {
+            if (key != initializedWith) {
+                initializedWith = null;
+                signature.initVerify((PublicKey) key);
+                initializedWith = key;
+            }
+            signature.update(buffer, 0, signatureOffset);
+            try {
+                return signature.verify(buffer, signatureOffset, signatureLength);
+            } catch (GeneralSecurityException e) {
+                initializedWith = null;
+                throw e;
+            }
+        }
+    }
+}
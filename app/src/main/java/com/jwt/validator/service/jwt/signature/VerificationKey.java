@@ -0,0 +1,9 @@
+package com.jwt.validator.service.jwt.signature;
+
+import java.security.Key;
+
+public record VerificationKey(
+        String kid,
+        JwsAlgorithm algorithm,
+        Key key
+) {}
@@ -1,79 +1,151 @@
 package com.jwt.validator.service.prime.impl;
 
+import com.jwt.validator.config.PrimeProperties;
 import com.jwt.validator.utils.logs.LogManager;
 import com.jwt.validator.service.prime.PrimeService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Primality check with constant memory and bounded cost per call. Numbers below the
+ * configured sieve limit are looked up in a precomputed bitset of odd numbers; the rest of
+ * the {@code int} range uses Miller-Rabin with bases 2, 7 and 61, which is deterministic
+ * for every n below 4,759,123,141.
+ *
+ * <p>Publishes {@code jwt.prime.sieve.lookups{result}}: {@code hit} for numbers answered
+ * by the sieve, {@code miss} for numbers that fell through to Miller-Rabin.</p>
+ */
 @Service
-public class PrimeServiceImpl implements PrimeService {
-
-    private static final Map<Integer, Boolean> primeCache = new ConcurrentHashMap<>();
-    private static final LogManager<PrimeServiceImpl> log = new LogManager<>(PrimeServiceImpl.class);
+public class PrimeServiceImpl implements PrimeService, MeterBinder {
 
-    @Override
-    public boolean isPrime(int number) {
+    static final int DEFAULT_SIEVE_LIMIT = 1 << 20;
+    static final int MIN_SIEVE_LIMIT = 64;
 
-        log.debug("Starting prime number validation");
+    private static final long[] WITNESSES = {2, 7, 61};
+    private static final LogManager<PrimeServiceImpl> log = new LogManager<>(PrimeServiceImpl.class);
 
-        try {
-            if (number <= 1) {
-                log.warn("Number is less than or equal to 1 - not prime", number);
-                return false;
-            }
+    private final int sieveLimit;
+    private final long[] compositeOdds;
+    private final LongAdder sieveHits = new LongAdder();
+    private final LongAdder sieveMisses = new LongAdder();
 
-            if (primeCache.containsKey(number)) {
-                boolean cachedResult = primeCache.get(number);
-                log.debug("Cache hit for number", number, String.valueOf(number));
-                return cachedResult;
-            }
-            boolean result = calculateIsPrime(number);
-            log.debug("Cache miss for number", number, String.valueOf(result));
+    public PrimeServiceImpl() {
+        this(DEFAULT_SIEVE_LIMIT);
+    }
 
-            primeCache.put(number, result);
-            log.debug("Cached result for number", number, String.valueOf(result));
+    @Autowired
+    public PrimeServiceImpl(PrimeProperties properties) {
+        this(properties.sieveLimit());
+    }
 
-            if (result) {
-                log.info("Number is prime", number);
-            } else {
-                log.debug("Number is not prime", number, String.valueOf(result));
-            }
+    PrimeServiceImpl(int sieveLimit) {
+        this.sieveLimit = Math.max(sieveLimit, MIN_SIEVE_LIMIT);
+        this.compositeOdds = sieveOdds(this.sieveLimit);
+        log.info("Prime sieve initialized", "limit=" + this.sieveLimit + " bytes=" + ((long) compositeOdds.length << 3));
+    }
 
-            return result;
-        } catch (Exception e) {
-            log.error("Error calculating if number is prime", number, e);
-            throw e;
-        } finally {
-            log.debug("Completed prime number validation");
+    @Override
+    public boolean isPrime(int number) {
+        if (number < 2) {
+            log.debug("Number is less than 2 - not prime", number);
+            return false;
         }
+        if (number < sieveLimit) {
+            sieveHits.increment();
+            return number == 2 || (number & 1) != 0 && isOddPrimeInSieve(number);
+        }
+        sieveMisses.increment();
+        return (number & 1) != 0 && millerRabin(number);
     }
 
-    private boolean calculateIsPrime(int number) {
-        log.debug("Starting prime calculation for number", number);
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.prime.sieve.lookups", sieveHits, LongAdder::sum)
+                .description("Primality checks answered by the sieve")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jwt.prime.sieve.lookups", sieveMisses, LongAdder::sum)
+                .description("Primality checks answered by the sieve")
+                .tag("result", "miss")
+                .register(registry);
+    }
 
-        if (number == 2) {
-            log.debug("Number is 2 - prime");
-            return true;
-        }
+    int sieveLimit() {
+        return sieveLimit;
+    }
 
-        if (number % 2 == 0) {
-            log.debug("Number is even and greater than 2 - not prime", String.valueOf(number));
-            return false;
-        }
+    private boolean isOddPrimeInSieve(int odd) {
+        int index = odd >>> 1;
+        return (compositeOdds[index >>> 6] & (1L << index)) == 0;
+    }
 
-        int sqrt = (int) Math.sqrt(number);
-        log.debug("Checking divisors up to sqrt ", number, String.valueOf(sqrt));
+    /**
+     * Sieve of Eratosthenes over odd numbers only: bit {@code i} is set when {@code 2i + 1}
+     * is composite. Bit 0 (the number 1) is left clear and never consulted.
+     */
+    private static long[] sieveOdds(int limit) {
+        int bits = (limit >>> 1) + 1;
+        long[] composite = new long[(bits + 63) >>> 6];
+        for (long p = 3; p * p < limit; p += 2) {
+            int index = (int) (p >>> 1);
+            if ((composite[index >>> 6] & (1L << index)) != 0) {
+                continue;
+            }
+            for (long multiple = p * p; multiple < limit; multiple += 2 * p) {
+                int multipleIndex = (int) (multiple >>> 1);
+                composite[multipleIndex >>> 6] |= 1L << multipleIndex;
+            }
+        }
+        return composite;
+    }
 
-        for (int i = 3; i <= sqrt; i += 2) {
-            if (number % i == 0) {
-                log.debug("Found divisor", i, String.valueOf(number));
+    /**
+     * Requires {@code n} odd and greater than every witness.
+     */
+    private static boolean millerRabin(int n) {
+        long d = n - 1L;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        for (long witness : WITNESSES) {
+            long x = modPow(witness, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = x * x % n;
+                if (x == n - 1) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) {
                 return false;
             }
         }
-
-        log.debug("No divisors found for number", number);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * {@code base^exponent mod modulus}; operands stay below 2^31 so products fit a long.
+     */
+    private static long modPow(long base, long exponent, long modulus) {
+        long result = 1;
+        long b = base % modulus;
+        long e = exponent;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = result * b % modulus;
+            }
+            b = b * b % modulus;
+            e >>>= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.jwt.validator.utils.codec;
+
+import java.util.Arrays;
+
+/**
+ * Base64url decoder (RFC 4648 section 5) that reads a range of a {@link CharSequence}
+ * and writes into a caller-supplied buffer. Accepts the same inputs as
+ * {@code Base64.getUrlDecoder()} - optional but well-formed padding, no line breaks -
+ * and reports malformed input through {@link #MALFORMED} instead of throwing.
+ */
+public final class Base64Url {
+
+    public static final int MALFORMED = -1;
+
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private Base64Url() {
+    }
+
+    /**
+     * Upper bound of the decoded size of {@code encodedLength} characters.
+     */
+    public static int maxDecodedLength(int encodedLength) {
+        return (encodedLength >> 2) * 3 + 2;
+    }
+
+    /**
+     * Returns the 6-bit value of {@code c}, or a negative number when it is not part of
+     * the Base64url alphabet.
+     */
+    public static int valueOf(char c) {
+        return c < 128 ? DECODE_TABLE[c] : -1;
+    }
+
+    /**
+     * Decodes {@code src[from, to)} into {@code dst} starting at {@code offset}.
+     *
+     * @return the number of bytes written, or {@link #MALFORMED} when the input has a
+     *         character outside the alphabet, misplaced padding or an impossible length
+     */
+    public static int decode(CharSequence src, int from, int to, byte[] dst, int offset) {
+        int end = to;
+        int padding = 0;
+        while (end > from && src.charAt(end - 1) == '=') {
+            end--;
+            padding++;
+        }
+
+        int remainder = (end - from) & 3;
+        if (remainder == 1 || padding > 2 || (padding > 0 && remainder + padding != 4)) {
+            return MALFORMED;
+        }
+
+        int in = from;
+        int out = offset;
+        int fullQuantaEnd = end - remainder;
+        while (in < fullQuantaEnd) {
+            int b0 = valueOf(src.charAt(in));
+            int b1 = valueOf(src.charAt(in + 1));
+            int b2 = valueOf(src.charAt(in + 2));
+            int b3 = valueOf(src.charAt(in + 3));
+            if ((b0 | b1 | b2 | b3) < 0) {
+                return MALFORMED;
+            }
+            int bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+            dst[out++] = (byte) bits;
+            in += 4;
+        }
+
+        if (remainder != 0) {
+            int b0 = valueOf(src.charAt(in));
+            int b1 = valueOf(src.charAt(in + 1));
+            int b2 = remainder == 3 ? valueOf(src.charAt(in + 2)) : 0;
+            if ((b0 | b1 | b2) < 0) {
+                return MALFORMED;
+            }
+            int bits = b0 << 18 | b1 << 12 | b2 << 6;
+            dst[out++] = (byte) (bits >> 16);
+            if (remainder == 3) {
+                dst[out++] = (byte) (bits >> 8);
+            }
+        }
+
+        return out - offset;
+    }
+}
@@ -0,0 +1,432 @@
+package com.jwt.validator.utils.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exception-free reader for a JSON object held in UTF-8 bytes, for the small flat objects
+ * found in JWT headers and payloads. Malformed input is reported through return values
+ * instead of exceptions, so rejecting hostile input never pays for a stack trace.
+ *
+ * <p>Follows RFC 8259 with Jackson's default strictness: no comments, unquoted names,
+ * single quotes, trailing commas, leading zeros or non-standard escapes; control
+ * characters must be escaped and strings must be well-formed UTF-8. Nested containers
+ * are validated while skipped, up to {@link #MAX_DEPTH} levels. As with a Jackson parser
+ * that stops at the end of the root object, bytes after the closing brace are not read.</p>
+ *
+ * <p>Usage: {@link #begin()}, then {@link #nextField()} until it stops returning
+ * {@link #FIELD}, reading or skipping each value in between.</p>
+ */
+public final class JsonObjectReader {
+
+    public static final int MALFORMED = -1;
+    public static final int NOT_OBJECT = 0;
+    public static final int OBJECT = 1;
+    public static final int END = 0;
+    public static final int FIELD = 1;
+    static final int MAX_DEPTH = 1000;
+
+    private static final String SKIPPED = "";
+
+    private final byte[] data;
+    private final int end;
+    private int pos;
+    private boolean firstField = true;
+    private String fieldName;
+
+    public JsonObjectReader(byte[] data, int offset, int length) {
+        this.data = data;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Opens the root object.
+     *
+     * @return {@link #OBJECT}; {@link #NOT_OBJECT} when the input is empty or starts with
+     *         another kind of value; {@link #MALFORMED} when it does not start with a value
+     */
+    public int begin() {
+        skipWhitespace();
+        if (pos == end) {
+            return NOT_OBJECT;
+        }
+        byte b = data[pos];
+        if (b == '{') {
+            pos++;
+            return OBJECT;
+        }
+        if (b == '[' || b == '"') {
+            return NOT_OBJECT;
+        }
+        return skipScalar() ? NOT_OBJECT : MALFORMED;
+    }
+
+    /**
+     * Reads the next field name and the colon after it.
+     *
+     * @return {@link #FIELD} with the name available from {@link #name()}, {@link #END}
+     *         after the closing brace, or {@link #MALFORMED}
+     */
+    public int nextField() {
+        skipWhitespace();
+        if (pos == end) {
+            return MALFORMED;
+        }
+        if (data[pos] == '}') {
+            pos++;
+            return END;
+        }
+        if (!firstField) {
+            if (data[pos] != ',') {
+                return MALFORMED;
+            }
+            pos++;
+            skipWhitespace();
+            if (pos == end) {
+                return MALFORMED;
+            }
+        }
+        firstField = false;
+        if (data[pos] != '"') {
+            return MALFORMED;
+        }
+        pos++;
+        fieldName = readString(true);
+        if (fieldName == null) {
+            return MALFORMED;
+        }
+        skipWhitespace();
+        if (pos == end || data[pos] != ':') {
+            return MALFORMED;
+        }
+        pos++;
+        return FIELD;
+    }
+
+    public String name() {
+        return fieldName;
+    }
+
+    /**
+     * Whether the value of the current field is a string; does not consume it.
+     */
+    public boolean isStringValue() {
+        skipWhitespace();
+        return pos < end && data[pos] == '"';
+    }
+
+    /**
+     * Reads the value of the current field in its textual form, as
+     * {@code JsonNode.asText()} would: strings decoded, numbers and literals verbatim,
+     * containers as an empty string once validated.
+     *
+     * @return the text, or {@code null} when the value is malformed
+     */
+    public String readValueAsText() {
+        skipWhitespace();
+        if (pos == end) {
+            return null;
+        }
+        byte b = data[pos];
+        if (b == '"') {
+            pos++;
+            return readString(true);
+        }
+        if (b == '{' || b == '[') {
+            return skipValue(1) ? SKIPPED : null;
+        }
+        int start = pos;
+        return skipScalar() ? new String(data, start, pos - start, StandardCharsets.ISO_8859_1) : null;
+    }
+
+    /**
+     * Validates and skips the value of the current field.
+     *
+     * @return {@code false} when the value is malformed
+     */
+    public boolean skipValue() {
+        return skipValue(1);
+    }
+
+    private boolean skipValue(int depth) {
+        skipWhitespace();
+        if (pos == end) {
+            return false;
+        }
+        byte b = data[pos];
+        if (b == '"') {
+            pos++;
+            return readString(false) != null;
+        }
+        if (b != '{' && b != '[') {
+            return skipScalar();
+        }
+        if (depth >= MAX_DEPTH) {
+            return false;
+        }
+        boolean object = b == '{';
+        byte close = object ? (byte) '}' : (byte) ']';
+        pos++;
+        skipWhitespace();
+        if (pos < end && data[pos] == close) {
+            pos++;
+            return true;
+        }
+        while (true) {
+            if (object) {
+                skipWhitespace();
+                if (pos == end || data[pos] != '"') {
+                    return false;
+                }
+                pos++;
+                if (readString(false) == null) {
+                    return false;
+                }
+                skipWhitespace();
+                if (pos == end || data[pos] != ':') {
+                    return false;
+                }
+                pos++;
+            }
+            if (!skipValue(depth + 1)) {
+                return false;
+            }
+            skipWhitespace();
+            if (pos == end) {
+                return false;
+            }
+            if (data[pos] == close) {
+                pos++;
+                return true;
+            }
+            if (data[pos] != ',') {
+                return false;
+            }
+            pos++;
+        }
+    }
+
+    private boolean skipScalar() {
+        switch (data[pos]) {
+            case 't':
+                return skipLiteral("true");
+            case 'f':
+                return skipLiteral("false");
+            case 'n':
+                return skipLiteral("null");
+            default:
+                return skipNumber();
+        }
+    }
+
+    private boolean skipLiteral(String literal) {
+        if (end - pos < literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (data[pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        pos += literal.length();
+        return true;
+    }
+
+    private boolean skipNumber() {
+        int p = pos;
+        if (data[p] == '-') {
+            p++;
+        }
+        if (p == end || !isDigit(data[p])) {
+            return false;
+        }
+        if (data[p] == '0') {
+            p++;
+            if (p < end && isDigit(data[p])) {
+                return false;
+            }
+        } else {
+            p = skipDigits(p);
+        }
+        if (p < end && data[p] == '.') {
+            p++;
+            if (p == end || !isDigit(data[p])) {
+                return false;
+            }
+            p = skipDigits(p);
+        }
+        if (p < end && (data[p] == 'e' || data[p] == 'E')) {
+            p++;
+            if (p < end && (data[p] == '+' || data[p] == '-')) {
+                p++;
+            }
+            if (p == end || !isDigit(data[p])) {
+                return false;
+            }
+            p = skipDigits(p);
+        }
+        pos = p;
+        return true;
+    }
+
+    private int skipDigits(int p) {
+        while (p < end && isDigit(data[p])) {
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * Reads a string whose opening quote was consumed. ASCII strings without escapes are
+     * copied straight from the buffer; anything else goes through {@link #readEncodedString}.
+     *
+     * @return the decoded string (or an empty one when {@code materialize} is false), or
+     *         {@code null} when malformed
+     */
+    private String readString(boolean materialize) {
+        int start = pos;
+        while (pos < end) {
+            byte b = data[pos];
+            if (b == '"') {
+                String value = materialize
+                        ? new String(data, start, pos - start, StandardCharsets.ISO_8859_1)
+                        : SKIPPED;
+                pos++;
+                return value;
+            }
+            if (b == '\\' || b < 0x20) {
+                return readEncodedString(start, materialize);
+            }
+            pos++;
+        }
+        return null;
+    }
+
+    private String readEncodedString(int start, boolean materialize) {
+        StringBuilder out = null;
+        if (materialize) {
+            out = new StringBuilder(pos - start + 16);
+            for (int i = start; i < pos; i++) {
+                out.append((char) data[i]);
+            }
+        }
+        while (pos < end) {
+            int b = data[pos] & 0xFF;
+            if (b == '"') {
+                pos++;
+                return out != null ? out.toString() : SKIPPED;
+            }
+            int codePoint;
+            if (b == '\\') {
+                codePoint = readEscape();
+            } else if (b < 0x20) {
+                return null;
+            } else if (b < 0x80) {
+                pos++;
+                codePoint = b;
+            } else {
+                codePoint = readUtf8(b);
+            }
+            if (codePoint < 0) {
+                return null;
+            }
+            if (out != null) {
+                out.appendCodePoint(codePoint);
+            }
+        }
+        return null;
+    }
+
+    private int readEscape() {
+        pos++;
+        if (pos == end) {
+            return -1;
+        }
+        byte c = data[pos++];
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (end - pos < 4) {
+                    return -1;
+                }
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(data[pos++], 16);
+                    if (digit < 0) {
+                        return -1;
+                    }
+                    value = (value << 4) | digit;
+                }
+                return value;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Decodes one multi-byte UTF-8 sequence starting with {@code lead}, rejecting
+     * overlong forms, surrogates and code points above U+10FFFF.
+     */
+    private int readUtf8(int lead) {
+        int length;
+        int min;
+        int max = 0xBF;
+        int codePoint;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+            min = 0x80;
+            codePoint = lead & 0x1F;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            min = lead == 0xE0 ? 0xA0 : 0x80;
+            max = lead == 0xED ? 0x9F : 0xBF;
+            codePoint = lead & 0x0F;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            min = lead == 0xF0 ? 0x90 : 0x80;
+            max = lead == 0xF4 ? 0x8F : 0xBF;
+            codePoint = lead & 0x07;
+        } else {
+            return -1;
+        }
+        if (end - pos < length) {
+            return -1;
+        }
+        for (int i = 1; i < length; i++) {
+            int continuation = data[pos + i] & 0xFF;
+            if (continuation < (i == 1 ? min : 0x80) || continuation > (i == 1 ? max : 0xBF)) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (continuation & 0x3F);
+        }
+        pos += length;
+        return codePoint;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end) {
+            byte b = data[pos];
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,143 @@
+package com.jwt.validator.utils.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to the latency it measures, AIMD style. Each completed
+ * call is compared with a smoothed baseline latency: a call slower than
+ * {@code latencyTolerance} times the baseline (and than the latency floor) means the work
+ * is queueing somewhere, so the limit shrinks multiplicatively, at most once per observed
+ * latency so that calls admitted under the old limit can drain first. Otherwise, when at
+ * least half the limit was in use, it grows by one.
+ *
+ * <p>The baseline follows faster calls quickly and slower ones only slowly, so a sustained
+ * spike is still recognised as one instead of becoming the new normal.</p>
+ *
+ * <p>Admission and release only use atomics and never block: callers that do not fit are
+ * refused immediately. Every successful {@link #tryAcquire} must be paired with one
+ * {@link #release}.</p>
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final int FAST_SMOOTHING_SHIFT = 3;
+    private static final int SLOW_SMOOTHING_SHIFT = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long latencyFloorNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong baselineNanos = new AtomicLong();
+    private final AtomicLong nextDecreaseAt;
+    private final LongAdder rejections = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance, long latencyFloorNanos) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, latencyFloorNanos, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             double latencyTolerance, long latencyFloorNanos, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        if (!(backoffRatio > 0 && backoffRatio < 1) || latencyTolerance < 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1) and latency tolerance at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.latencyFloorNanos = latencyFloorNanos;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(Math.min(Math.max(initialLimit, minLimit), maxLimit));
+        this.nextDecreaseAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return {@code true} when the caller was admitted and must later call {@link #release}
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < limit.get()) {
+            int witness = inFlight.compareAndExchange(current, current + 1);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Ends an admitted call that took {@code latencyNanos} and adjusts the limit.
+     */
+    public void release(long latencyNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        long baseline = updateBaseline(latencyNanos);
+        if (baseline == 0) {
+            return;
+        }
+        if (latencyNanos > latencyFloorNanos && latencyNanos > baseline * latencyTolerance) {
+            decrease(latencyNanos);
+        } else if (concurrency * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(current + 1, maxLimit));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    long baselineNanos() {
+        return baselineNanos.get();
+    }
+
+    private void decrease(long latencyNanos) {
+        long now = nanoClock.getAsLong();
+        long next = nextDecreaseAt.get();
+        if (now - next < 0 || !nextDecreaseAt.compareAndSet(next, now + latencyNanos)) {
+            return;
+        }
+        limit.updateAndGet(current -> Math.max((int) (current * backoffRatio), minLimit));
+    }
+
+    /**
+     * @return the baseline before this sample, {@code 0} for the very first one
+     */
+    private long updateBaseline(long latencyNanos) {
+        long sample = Math.max(latencyNanos, 1);
+        long previous = baselineNanos.get();
+        while (true) {
+            long updated;
+            if (previous == 0) {
+                updated = sample;
+            } else if (sample < previous) {
+                updated = previous - (previous - sample >> FAST_SMOOTHING_SHIFT);
+            } else {
+                updated = previous + (sample - previous >> SLOW_SMOOTHING_SHIFT);
+            }
+            long witness = baselineNanos.compareAndExchange(previous, updated);
+            if (witness == previous) {
+                return previous;
+            }
+            previous = witness;
+        }
+    }
+}
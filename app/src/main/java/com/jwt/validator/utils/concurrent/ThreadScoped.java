@@ -0,0 +1,69 @@
+package com.jwt.validator.utils.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Reusable per-thread instances that stay cheap on virtual threads. A platform thread
+ * keeps its instance in a {@link ThreadLocal} for its whole life. A virtual thread usually
+ * serves a single request, so a thread-local instance would be created and discarded every
+ * time; instead it borrows one from a small lock-free pool and hands it back on
+ * {@link #release}.
+ *
+ * <p>Callers must pair every {@link #acquire} with a {@link #release} on the same thread
+ * and must not use the instance after releasing it.</p>
+ */
+public final class ThreadScoped<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> platformInstances;
+    private final AtomicReferenceArray<T> virtualPool;
+    private final int mask;
+
+    public ThreadScoped(Supplier<T> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ThreadScoped(Supplier<T> factory, int poolSize) {
+        this.factory = factory;
+        this.platformInstances = ThreadLocal.withInitial(factory);
+        int slots = Integer.highestOneBit(Math.max(poolSize, 1) * 2 - 1);
+        this.virtualPool = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+    }
+
+    public T acquire() {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return platformInstances.get();
+        }
+        int start = probe(thread);
+        for (int i = 0; i <= mask; i++) {
+            int slot = (start + i) & mask;
+            T instance = virtualPool.get(slot);
+            if (instance != null && virtualPool.compareAndSet(slot, instance, null)) {
+                return instance;
+            }
+        }
+        return factory.get();
+    }
+
+    public void release(T instance) {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return;
+        }
+        int start = probe(thread);
+        for (int i = 0; i <= mask; i++) {
+            int slot = (start + i) & mask;
+            if (virtualPool.get(slot) == null && virtualPool.compareAndSet(slot, null, instance)) {
+                return;
+            }
+        }
+    }
+
+    private static int probe(Thread thread) {
+        long id = thread.threadId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,17 @@
+package com.jwt.validator.utils.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Modification time and size of a file, compared to detect that a polled file changed.
+ */
+public record FileVersion(long lastModified, long size) {
+
+    public static FileVersion of(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new FileVersion(attributes.lastModifiedTime().toMillis(), attributes.size());
+    }
+}
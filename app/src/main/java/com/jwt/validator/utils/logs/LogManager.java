@@ -3,6 +3,15 @@ package com.jwt.validator.utils.logs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
+/**
+ * Logger that prefixes every line with the request id. Each method checks the level
+ * before touching its arguments, so a disabled call allocates nothing: no request id is
+ * generated, no varargs array is built and no supplier is invoked. Use the {@code int}
+ * overloads for numbers and the {@link Supplier} overloads for values that are costly to
+ * compute.
+ */
 public class LogManager<T> {
     private final Logger logger;
 
@@ -10,45 +19,97 @@ public class LogManager<T> {
         this.logger = LoggerFactory.getLogger(clazz);
     }
 
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
     public void info(String message, Object object) {
-        logger.info("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        if (logger.isInfoEnabled()) {
+            logger.info("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        }
     }
 
     public void info(String message) {
-        logger.info("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        if (logger.isInfoEnabled()) {
+            logger.info("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        }
     }
 
     public void debug(String message, Object object) {
-        logger.debug("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        }
+    }
+
+    public void debug(String message, int value) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, value);
+        }
+    }
+
+    public void debug(String message, Supplier<?> object) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object.get());
+        }
     }
+
     public void debug(String message, Object object, String value) {
-        logger.debug("[{}] {}: {} {}", RequestUUIDHolder.getUuid(), message, object, value);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}: {} {}", RequestUUIDHolder.getUuid(), message, object, value);
+        }
     }
+
     public void debug(String message, Object object, String value, String value2) {
-        logger.debug("[{}] {}: {} {} {}", RequestUUIDHolder.getUuid(), message, object, value, value2);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}: {} {} {}", RequestUUIDHolder.getUuid(), message, object, value, value2);
+        }
     }
 
     public void debug(String message) {
-        logger.debug("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        }
     }
 
     public void error(String message, Object object, Exception e) {
-        logger.error("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object, e);
+        if (logger.isErrorEnabled()) {
+            logger.error("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object, e);
+        }
     }
 
     public void error(String message, String value) {
-        logger.error("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        if (logger.isErrorEnabled()) {
+            logger.error("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, value);
+        }
     }
 
     public void warn(String message, Object object) {
-        logger.warn("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        if (logger.isWarnEnabled()) {
+            logger.warn("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object);
+        }
+    }
+
+    public void warn(String message, int value) {
+        if (logger.isWarnEnabled()) {
+            logger.warn("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, value);
+        }
     }
+
+    public void warn(String message, Supplier<?> object) {
+        if (logger.isWarnEnabled()) {
+            logger.warn("[{}] {}: {}", RequestUUIDHolder.getUuid(), message, object.get());
+        }
+    }
+
     public void warn(String message, Object object, String value) {
-        logger.warn("[{}] {}: {} {}", RequestUUIDHolder.getUuid(), message, object, value);
+        if (logger.isWarnEnabled()) {
+            logger.warn("[{}] {}: {} {}", RequestUUIDHolder.getUuid(), message, object, value);
+        }
     }
 
     public void warn(String message) {
-        logger.warn("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        if (logger.isWarnEnabled()) {
+            logger.warn("[{}] {}", RequestUUIDHolder.getUuid(), message);
+        }
     }
 }
-
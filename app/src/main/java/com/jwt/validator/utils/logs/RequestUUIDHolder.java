@@ -1,26 +1,74 @@
 package com.jwt.validator.utils.logs;
 
+import org.slf4j.MDC;
+
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
+/**
+ * Correlation id of the work running on the current thread, kept in the SLF4J {@link MDC}
+ * under {@link #MDC_KEY} so every log line carries it. Request threads get their id from
+ * {@code CorrelationIdFilter}; code that hands work to other threads wraps it with
+ * {@link #propagating} so the id follows the task. Threads outside a request lazily get a
+ * fresh id on first use.
+ *
+ * <p>Ids are random version 4 UUIDs drawn from {@link ThreadLocalRandom}. They identify
+ * requests, not secrets, so the uncontended non-cryptographic generator is used instead of
+ * {@link UUID#randomUUID()}, whose shared {@code SecureRandom} becomes a hotspot under
+ * load.</p>
+ */
 public class RequestUUIDHolder {
-    private static final ThreadLocal<String> uuidHolder = new ThreadLocal<>();
+
+    public static final String MDC_KEY = "correlation_id";
+
+    private RequestUUIDHolder() {
+    }
 
     public static void setUuid(String uuid) {
-        if (uuidHolder.get() == null) {
-            uuidHolder.set(uuid);
+        if (MDC.get(MDC_KEY) == null) {
+            MDC.put(MDC_KEY, uuid);
         }
     }
 
     public static String getUuid() {
-        String uuid = uuidHolder.get();
+        String uuid = MDC.get(MDC_KEY);
         if (uuid == null) {
-            uuid = UUID.randomUUID().toString();
-            uuidHolder.set(uuid);
+            uuid = newUuid();
+            MDC.put(MDC_KEY, uuid);
         }
         return uuid;
     }
 
     public static void clear() {
-        uuidHolder.remove();
+        MDC.remove(MDC_KEY);
+    }
+
+    public static String newUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    /**
+     * Wraps {@code function} so it runs under the correlation id of the calling thread,
+     * restoring whatever the executing thread had before once it returns.
+     */
+    public static <T, R> Function<T, R> propagating(Function<T, R> function) {
+        String uuid = getUuid();
+        return value -> {
+            String previous = MDC.get(MDC_KEY);
+            MDC.put(MDC_KEY, uuid);
+            try {
+                return function.apply(value);
+            } finally {
+                if (previous == null) {
+                    MDC.remove(MDC_KEY);
+                } else {
+                    MDC.put(MDC_KEY, previous);
+                }
+            }
+        };
     }
 }
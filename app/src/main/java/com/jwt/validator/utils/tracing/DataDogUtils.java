@@ -1,40 +1,238 @@
 package com.jwt.validator.utils.tracing;
 
-import com.jwt.validator.utils.logs.LogManager;
 import com.jwt.validator.utils.logs.RequestUUIDHolder;
 
 import io.opentracing.Span;
+import io.opentracing.noop.NoopSpan;
+import io.opentracing.tag.Tags;
 import io.opentracing.util.GlobalTracer;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
 
+/**
+ * Tags the active span of the request. Every method writes straight to the span, adds the
+ * correlation id, skips blank values and does nothing at all when no tracer is installed,
+ * so a request without tracing pays for a single span lookup.
+ *
+ * <p>Whether a span is tagged at all depends on the {@link SpanOutcome} of the request and
+ * the installed {@link TracingPolicy}; an unsampled span gets no tag, not even the
+ * correlation id. Values longer in UTF-8 than the policy allows are cut at a character
+ * boundary, and the cut value is tagged with the UTF-8 length of the whole value in bytes
+ * ({@code <key>.length}) and a CRC32C of those bytes ({@code <key>.hash}), so identical
+ * payloads get the same tags whether they are tagged as text or as bytes. Text is measured
+ * and hashed char by char, never encoded as a whole.</p>
+ */
 public class DataDogUtils {
 
+    public static final String CORRELATION_ID = "context.correlation_id";
+    public static final String INVALID_CAUSE = "context.invalid_cause";
+    public static final String ERROR = "context.error";
+    public static final String CACHE = "context.cache";
+    public static final String PAYLOAD = "context.payload";
+    public static final String ROLE = "context.role";
+    public static final String SEED = "context.seed";
+    public static final String TOKENS = "context.tokens";
+    public static final String TOKENS_VALID = "context.tokens.valid";
+    public static final String TOKENS_REJECTED = "context.tokens.rejected";
+    public static final String TOKENS_ERROR = "context.tokens.error";
+
+    private static final String TRUNCATED = "...";
+    private static final int CHECKSUM_BLOCK_BYTES = 64;
+
+    private static volatile TracingPolicy policy = TracingPolicy.SAMPLE_ALL;
+
     private DataDogUtils() {
     }
 
-    private static final LogManager<DataDogUtils> log = new LogManager<>(DataDogUtils.class);
+    static void install(TracingPolicy installed) {
+        policy = installed;
+    }
 
-    public static void startAndLogSpan(Map<String, Object> tags) {
-        final Span span = GlobalTracer.get().activeSpan();
+    public static void tagSpan(SpanTag tag) {
+        tagSpan(tag.outcome(), tag);
+    }
 
+    public static void tagSpan(SpanOutcome outcome, SpanTag tag) {
+        Span span = activeSpan(outcome);
         if (span != null) {
-            log.info("Criando Span");
-            span.setTag("context.correlation_id", RequestUUIDHolder.getUuid());
-            tags.forEach((key, value) -> {
-                if (value instanceof String && StringUtils.isNotBlank((String) value)) {
-                    span.setTag(key, (String) value);
-                }
-            });
-            log.warn("Finalizando Span");
+            span.setTag(tag.key(), tag.value());
         }
     }
 
-    public static void addTag(Map<String, Object> tags, Object key, Object value) {
-        if (key instanceof String && value instanceof String && StringUtils.isNotBlank((String) value)) {
-            tags.put((String) key, value);
+    public static void tagSpan(SpanOutcome outcome, String key, String value) {
+        Span span = activeSpan(outcome);
+        if (span != null) {
+            setTag(span, key, value);
         }
     }
-}
 
+    public static void tagSpan(SpanOutcome outcome, String key, String value, String key2, String value2) {
+        Span span = activeSpan(outcome);
+        if (span != null) {
+            setTag(span, key, value);
+            setTag(span, key2, value2);
+        }
+    }
+
+    /**
+     * Tags {@code key} with UTF-8 text held in {@code data}; the bytes are only decoded
+     * when the span is sampled, and then no more of them than the policy lets through.
+     */
+    public static void tagSpan(SpanOutcome outcome, String key, byte[] data, int offset, int length) {
+        Span span = activeSpan(outcome);
+        if (span == null) {
+            return;
+        }
+        int maxLength = policy.maxTagLength();
+        if (length <= maxLength) {
+            setTag(span, key, new String(data, offset, length, StandardCharsets.UTF_8));
+            return;
+        }
+        int end = offset + maxLength;
+        // Never cut inside a multi-byte character.
+        while (end > offset && (data[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        tagTruncated(span, key, new String(data, offset, end - offset, StandardCharsets.UTF_8), length, crc);
+    }
+
+    /**
+     * Tags the totals of a batch or stream request, whose tokens are validated without
+     * tagging the span. A request is tagged once whatever its size, so totals are not
+     * sampled and never mark the trace to be dropped.
+     */
+    public static void tagSpanTotals(long valid, long rejected, long errors) {
+        Span span = GlobalTracer.get().activeSpan();
+        if (span == null || span instanceof NoopSpan) {
+            return;
+        }
+        span.setTag(CORRELATION_ID, RequestUUIDHolder.getUuid());
+        span.setTag(TOKENS, valid + rejected + errors);
+        span.setTag(TOKENS_VALID, valid);
+        span.setTag(TOKENS_REJECTED, rejected);
+        span.setTag(TOKENS_ERROR, errors);
+    }
+
+    private static Span activeSpan(SpanOutcome outcome) {
+        Span span = GlobalTracer.get().activeSpan();
+        if (span == null || span instanceof NoopSpan) {
+            return null;
+        }
+        TracingPolicy current = policy;
+        if (!current.sample(outcome)) {
+            if (current.dropUnsampled()) {
+                span.setTag(Tags.SAMPLING_PRIORITY, 0);
+            }
+            return null;
+        }
+        span.setTag(CORRELATION_ID, RequestUUIDHolder.getUuid());
+        return span;
+    }
+
+    private static void setTag(Span span, String key, String value) {
+        if (StringUtils.isBlank(value)) {
+            return;
+        }
+        int maxLength = policy.maxTagLength();
+        // No char takes more than three UTF-8 bytes, so short values need no counting.
+        if (value.length() <= maxLength / 3) {
+            span.setTag(key, value);
+            return;
+        }
+        int end = utf8Prefix(value, maxLength);
+        if (end == value.length()) {
+            span.setTag(key, value);
+            return;
+        }
+        CRC32C crc = new CRC32C();
+        int length = utf8Checksum(value, crc);
+        tagTruncated(span, key, value.substring(0, end), length, crc);
+    }
+
+    /**
+     * @return how many chars of {@code value} start it with at most {@code maxBytes} bytes of
+     *         UTF-8, never splitting a surrogate pair
+     */
+    private static int utf8Prefix(String value, int maxBytes) {
+        int bytes = 0;
+        int index = 0;
+        while (index < value.length()) {
+            char c = value.charAt(index);
+            int chars = 1;
+            int width;
+            if (c < 0x80) {
+                width = 1;
+            } else if (c < 0x800) {
+                width = 2;
+            } else if (isSurrogatePair(value, index)) {
+                width = 4;
+                chars = 2;
+            } else {
+                // A lone surrogate is encoded as '?'.
+                width = Character.isSurrogate(c) ? 1 : 3;
+            }
+            if (bytes + width > maxBytes) {
+                return index;
+            }
+            bytes += width;
+            index += chars;
+        }
+        return index;
+    }
+
+    /**
+     * Feeds {@code crc} the bytes {@code value.getBytes(UTF_8)} would return, through a
+     * small block instead of a copy of the whole value.
+     *
+     * @return the number of those bytes
+     */
+    private static int utf8Checksum(String value, CRC32C crc) {
+        byte[] block = new byte[CHECKSUM_BLOCK_BYTES];
+        int filled = 0;
+        int length = 0;
+        for (int index = 0; index < value.length(); index++) {
+            if (filled > block.length - 4) {
+                crc.update(block, 0, filled);
+                length += filled;
+                filled = 0;
+            }
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                block[filled++] = (byte) c;
+            } else if (c < 0x800) {
+                block[filled++] = (byte) (0xC0 | c >> 6);
+                block[filled++] = (byte) (0x80 | c & 0x3F);
+            } else if (isSurrogatePair(value, index)) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++index));
+                block[filled++] = (byte) (0xF0 | codePoint >> 18);
+                block[filled++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                block[filled++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                block[filled++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                block[filled++] = '?';
+            } else {
+                block[filled++] = (byte) (0xE0 | c >> 12);
+                block[filled++] = (byte) (0x80 | c >> 6 & 0x3F);
+                block[filled++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        crc.update(block, 0, filled);
+        return length + filled;
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index))
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    private static void tagTruncated(Span span, String key, String prefix, int length, CRC32C crc) {
+        span.setTag(key, prefix + TRUNCATED);
+        span.setTag(key + ".length", length);
+        span.setTag(key + ".hash", Long.toHexString(crc.getValue()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.jwt.validator.utils.tracing;
+
+/**
+ * Outcome of the request a span tag describes, each sampled at its own rate.
+ */
+public enum SpanOutcome {
+    VALID("valid"),
+    REJECTED("rejected"),
+    ERROR("error");
+
+    private final String tag;
+
+    SpanOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
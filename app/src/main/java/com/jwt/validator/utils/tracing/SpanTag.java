@@ -0,0 +1,40 @@
+package com.jwt.validator.utils.tracing;
+
+/**
+ * Span tags whose key and value are both fixed, so tagging an outcome costs two constant
+ * references and no string building. Each tag carries the {@link SpanOutcome} it is
+ * sampled as.
+ */
+public enum SpanTag {
+    INVALID_STRUCTURE(DataDogUtils.INVALID_CAUSE, "Invalid JWT structure", SpanOutcome.REJECTED),
+    OVERSIZED_TOKEN(DataDogUtils.INVALID_CAUSE, "Oversized JWT", SpanOutcome.REJECTED),
+    INVALID_HEADER(DataDogUtils.INVALID_CAUSE, "Invalid JWT header", SpanOutcome.REJECTED),
+    BASE64_ERROR(DataDogUtils.INVALID_CAUSE, "Base64 decoding error", SpanOutcome.REJECTED),
+    INVALID_JSON(DataDogUtils.INVALID_CAUSE, "Invalid JSON payload", SpanOutcome.REJECTED),
+    INVALID_SIGNATURE(DataDogUtils.INVALID_CAUSE, "Invalid JWT signature", SpanOutcome.REJECTED),
+    INVALID_REQUEST(DataDogUtils.INVALID_CAUSE, "Invalid request", SpanOutcome.REJECTED),
+    OVERSIZED_BATCH(DataDogUtils.INVALID_CAUSE, "Oversized batch", SpanOutcome.REJECTED),
+    CACHE_HIT(DataDogUtils.CACHE, "hit", SpanOutcome.VALID);
+
+    private final String key;
+    private final String value;
+    private final SpanOutcome outcome;
+
+    SpanTag(String key, String value, SpanOutcome outcome) {
+        this.key = key;
+        this.value = value;
+        this.outcome = outcome;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public SpanOutcome outcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,163 @@
+package com.jwt.validator.utils.tracing;
+
+import com.jwt.validator.config.TracingProperties;
+import com.jwt.validator.utils.logs.LogManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decides which spans {@link DataDogUtils} tags, by {@link SpanOutcome} and configured
+ * rate, and how long a tag value may be. Installed into {@link DataDogUtils} on startup;
+ * until then every span is tagged and values are only cut at the default length.
+ *
+ * <p>Unsampled events are not lost: they are counted per outcome, published as
+ * {@code jwt.tracing.span.events{outcome, sampled}} and logged in aggregate every
+ * {@code jwt.tracing.flush-interval}, so the volume behind the sampled traces stays
+ * visible while tracing costs the same under a flood of bad tokens as without it.</p>
+ */
+@Component
+public class TracingPolicy implements MeterBinder {
+
+    private static final LogManager<TracingPolicy> log = new LogManager<>(TracingPolicy.class);
+    private static final SpanOutcome[] OUTCOMES = SpanOutcome.values();
+
+    static final int DEFAULT_MAX_TAG_LENGTH = 256;
+    static final TracingPolicy SAMPLE_ALL = new TracingPolicy(new double[]{1, 1, 1}, DEFAULT_MAX_TAG_LENGTH, false);
+
+    private final double[] rates;
+    private final int maxTagLength;
+    private final boolean dropUnsampled;
+    private final long flushIntervalMillis;
+    private final DoubleSupplier random;
+    private final LongAdder[] sampled = counters();
+    private final LongAdder[] unsampled = counters();
+    private final long[] flushed = new long[OUTCOMES.length];
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public TracingPolicy(TracingProperties properties) {
+        this(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    TracingPolicy(TracingProperties properties, DoubleSupplier random) {
+        this.rates = new double[]{
+                properties.validSampleRate(), properties.rejectedSampleRate(), properties.errorSampleRate()};
+        this.maxTagLength = Math.max(1, properties.maxTagLength());
+        this.dropUnsampled = properties.dropUnsampled();
+        this.flushIntervalMillis = properties.flushInterval().toMillis();
+        this.random = random;
+    }
+
+    private TracingPolicy(double[] rates, int maxTagLength, boolean dropUnsampled) {
+        this.rates = rates;
+        this.maxTagLength = maxTagLength;
+        this.dropUnsampled = dropUnsampled;
+        this.flushIntervalMillis = 0;
+        this.random = () -> 0;
+    }
+
+    @PostConstruct
+    void start() {
+        DataDogUtils.install(this);
+        if (flushIntervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tracing-policy-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+        DataDogUtils.install(SAMPLE_ALL);
+    }
+
+    /**
+     * Decides whether the span of a request with {@code outcome} is tagged, and counts the
+     * decision. A rate of 1 or more always samples and 0 or less never does.
+     */
+    boolean sample(SpanOutcome outcome) {
+        double rate = rates[outcome.ordinal()];
+        if (rate >= 1 || rate > 0 && random.getAsDouble() < rate) {
+            sampled[outcome.ordinal()].increment();
+            return true;
+        }
+        unsampled[outcome.ordinal()].increment();
+        return false;
+    }
+
+    int maxTagLength() {
+        return maxTagLength;
+    }
+
+    boolean dropUnsampled() {
+        return dropUnsampled;
+    }
+
+    /**
+     * Logs the unsampled events per outcome counted since the previous flush, if any.
+     *
+     * @return those counts, by outcome tag
+     */
+    synchronized Map<String, Long> flush() {
+        Map<String, Long> pending = new LinkedHashMap<>();
+        long total = 0;
+        for (SpanOutcome outcome : OUTCOMES) {
+            long count = unsampled[outcome.ordinal()].sum();
+            long delta = count - flushed[outcome.ordinal()];
+            flushed[outcome.ordinal()] = count;
+            pending.put(outcome.tag(), delta);
+            total += delta;
+        }
+        if (total > 0) {
+            log.info("Unsampled span events since last flush", pending);
+        }
+        return pending;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (SpanOutcome outcome : OUTCOMES) {
+            register(registry, outcome, "true", sampled[outcome.ordinal()]);
+            register(registry, outcome, "false", unsampled[outcome.ordinal()]);
+        }
+    }
+
+    private static void register(MeterRegistry registry, SpanOutcome outcome, String isSampled, LongAdder counter) {
+        FunctionCounter.builder("jwt.tracing.span.events", counter, LongAdder::sum)
+                .description("Span tagging decisions by request outcome")
+                .tag("outcome", outcome.tag())
+                .tag("sampled", isSampled)
+                .register(registry);
+    }
+
+    private static LongAdder[] counters() {
+        LongAdder[] counters = new LongAdder[OUTCOMES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
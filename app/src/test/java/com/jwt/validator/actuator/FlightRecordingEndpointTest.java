@@ -0,0 +1,91 @@
+package com.jwt.validator.actuator;
+
+import com.jwt.validator.config.FlightRecordingProperties;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint(
+            new FlightRecordingProperties(Duration.ZERO, Duration.ofMinutes(1), DataSize.ofMegabytes(16)));
+
+    @AfterEach
+    void closeRecording() {
+        endpoint.close();
+    }
+
+    @Test
+    void start_shouldRunOneBoundedRecording() throws Exception {
+        WebEndpointResponse<Map<String, Object>> first = endpoint.start();
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start();
+
+        assertEquals(WebEndpointResponse.STATUS_OK, first.getStatus());
+        assertEquals("RUNNING", first.getBody().get("state"));
+        assertEquals("PT1M", first.getBody().get("maxDuration"));
+        assertEquals(16L * 1024 * 1024, first.getBody().get("maxSize"));
+        assertEquals(first.getBody().get("startTime"), second.getBody().get("startTime"));
+    }
+
+    @Test
+    void dump_shouldServeRecordingWithoutLeavingItOnDisk() throws Exception {
+        endpoint.start();
+
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        assertTrue(temporaryDumps().isEmpty());
+        Path copy = Files.createTempFile("dump-", ".jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        assertEquals(Files.size(copy), response.getBody().contentLength());
+        assertFalse(RecordingFile.readAllEvents(copy).isEmpty());
+        Files.delete(copy);
+    }
+
+    @Test
+    void dump_neverRead_shouldLeaveNoFileBehind() throws Exception {
+        endpoint.start();
+
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        assertTrue(temporaryDumps().isEmpty());
+        response.getBody().getInputStream().close();
+    }
+
+    @Test
+    void withoutRecording_dumpAndStop_shouldAnswerNotFound() throws Exception {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.stop().getStatus());
+    }
+
+    @Test
+    void stop_shouldDiscardRecording() throws Exception {
+        endpoint.start();
+
+        assertEquals(WebEndpointResponse.STATUS_OK, endpoint.stop().getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+    }
+
+    private static List<Path> temporaryDumps() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString()
+                    .startsWith(FlightRecordingEndpoint.RECORDING_NAME + "-")).toList();
+        }
+    }
+}
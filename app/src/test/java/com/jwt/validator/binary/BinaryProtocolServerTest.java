@@ -0,0 +1,226 @@
+package com.jwt.validator.binary;
+
+import com.jwt.validator.config.BinaryProtocolProperties;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BinaryProtocolServerTest {
+
+    private static final int MAX_FRAME_LENGTH = 64;
+
+    private final JwtValidationService validationService = mock(JwtValidationService.class);
+    private BinaryProtocolServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(validationService.validate(anyString())).thenReturn(ValidationResult.INVALID_SEED);
+        when(validationService.validate("valid")).thenReturn(ValidationResult.VALID);
+        when(validationService.validate("boom")).thenThrow(new IllegalStateException("boom"));
+        server = new BinaryProtocolServer(validationService,
+                new BinaryProtocolProperties(true, "", 0, MAX_FRAME_LENGTH, 2));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void pipelinedFrames_shouldBeAnsweredInOrder() throws IOException {
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            frame(out, "valid");
+            frame(out, "seed-not-prime");
+            frame(out, "boom");
+            frame(out, "valid");
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            assertAnswer(in, BinaryProtocol.STATUS_INVALID, BinaryProtocol.reasonCode(RejectionReason.SEED));
+            assertAnswer(in, BinaryProtocol.STATUS_ERROR, BinaryProtocol.NO_REASON);
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+        }
+    }
+
+    @Test
+    void frameSplitAcrossWrites_shouldBeReassembled() throws IOException, InterruptedException {
+        try (Socket socket = connect()) {
+            byte[] frame = {0, 0, 0, 5, 'v', 'a', 'l', 'i', 'd'};
+            OutputStream out = socket.getOutputStream();
+            for (byte b : frame) {
+                out.write(b);
+                out.flush();
+                Thread.sleep(2);
+            }
+
+            assertAnswer(new DataInputStream(socket.getInputStream()), BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+        }
+    }
+
+    @Test
+    void moreAnswersThanTheOutputBuffer_shouldAllBeWritten() throws IOException {
+        int frames = 5_000;
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            for (int i = 0; i < frames; i++) {
+                frame(out, i % 2 == 0 ? "valid" : "invalid");
+            }
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            for (int i = 0; i < frames; i++) {
+                assertEquals(i % 2 == 0 ? BinaryProtocol.STATUS_VALID : BinaryProtocol.STATUS_INVALID, in.readByte());
+                in.readByte();
+            }
+        }
+    }
+
+    @Test
+    void oversizedFrame_shouldBeRefusedAndCloseTheConnection() throws IOException {
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            frame(out, "valid");
+            out.writeInt(MAX_FRAME_LENGTH + 1);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            assertAnswer(in, BinaryProtocol.STATUS_BAD_FRAME, BinaryProtocol.NO_REASON);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void clientClosingItsSide_shouldStillGetPendingAnswers() throws IOException {
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            frame(out, "valid");
+            frame(out, "valid");
+            out.flush();
+            socket.shutdownOutput();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void severalConnections_shouldBeServedIndependently() throws IOException {
+        try (Socket first = connect(); Socket second = connect(); Socket third = connect()) {
+            for (Socket socket : new Socket[]{first, second, third}) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                frame(out, "valid");
+                out.flush();
+            }
+            for (Socket socket : new Socket[]{third, first, second}) {
+                assertAnswer(new DataInputStream(socket.getInputStream()), BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            }
+        }
+    }
+
+    @Test
+    void eachFrame_shouldLogUnderItsOwnCorrelationId() throws IOException {
+        List<String> correlationIds = new CopyOnWriteArrayList<>();
+        when(validationService.validate("traced")).thenAnswer(invocation -> {
+            correlationIds.add(RequestUUIDHolder.getUuid());
+            return ValidationResult.VALID;
+        });
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            frame(out, "traced");
+            frame(out, "traced");
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+            assertAnswer(in, BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+        }
+
+        assertEquals(2, correlationIds.size());
+        assertNotEquals(correlationIds.get(0), correlationIds.get(1));
+    }
+
+    @Test
+    void disabled_shouldNotListen() throws IOException {
+        BinaryProtocolServer disabled = new BinaryProtocolServer(validationService,
+                new BinaryProtocolProperties(false, "", 0, MAX_FRAME_LENGTH, 1));
+        disabled.start();
+
+        assertEquals(-1, disabled.port());
+        disabled.stop();
+    }
+
+    @Test
+    void reasonCodes_shouldBeDistinctAndNeverNoReason() {
+        Set<Byte> codes = new HashSet<>();
+        for (RejectionReason reason : RejectionReason.values()) {
+            byte code = BinaryProtocol.reasonCode(reason);
+            assertNotEquals(BinaryProtocol.NO_REASON, code);
+            assertTrue(codes.add(code), reason.name());
+        }
+    }
+
+    @Test
+    void channelFailingToRegister_shouldNotStopItsEventLoop() throws IOException {
+        server.stop();
+        server = new BinaryProtocolServer(validationService,
+                new BinaryProtocolProperties(true, "", 0, MAX_FRAME_LENGTH, 1));
+        server.start();
+        SocketChannel closed = SocketChannel.open();
+        closed.close();
+
+        server.dispatch(closed);
+
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            frame(out, "valid");
+            out.flush();
+
+            assertAnswer(new DataInputStream(socket.getInputStream()), BinaryProtocol.STATUS_VALID, BinaryProtocol.NO_REASON);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+        socket.setSoTimeout(10_000);
+        socket.setTcpNoDelay(true);
+        return socket;
+    }
+
+    private static void frame(DataOutputStream out, String token) throws IOException {
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void assertAnswer(DataInputStream in, byte status, byte reason) throws IOException {
+        assertEquals(status, in.readByte());
+        assertEquals(reason, in.readByte());
+    }
+}
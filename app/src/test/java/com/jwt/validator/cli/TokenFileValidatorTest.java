@@ -0,0 +1,170 @@
+package com.jwt.validator.cli;
+
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenFileValidatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> correlationIds = new CopyOnWriteArrayList<>();
+
+    private final JwtValidationService validationService = new JwtValidationService() {
+        @Override
+        public ResponseEntity<Boolean> validateJwt(String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ValidationResult validate(String token) {
+            return switch (token) {
+                case "ok" -> ValidationResult.VALID;
+                case "seed" -> ValidationResult.INVALID_SEED;
+                case "boom" -> throw new IllegalStateException("boom");
+                case "traced" -> {
+                    correlationIds.add(RequestUUIDHolder.getUuid());
+                    yield ValidationResult.VALID;
+                }
+                default -> ValidationResult.INVALID_STRUCTURE;
+            };
+        }
+    };
+
+    @Test
+    void validate_shouldCountEveryLineAndKeepResultsInOrder() throws Exception {
+        List<String> lines = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String token = switch (i % 4) {
+                case 0 -> "ok";
+                case 1 -> "seed";
+                case 2 -> "garbage";
+                default -> "boom";
+            };
+            lines.add(token);
+            expected.add(switch (token) {
+                case "ok" -> "valid";
+                case "seed" -> "seed";
+                case "garbage" -> "structure";
+                default -> "error";
+            });
+        }
+        Path input = tempDir.resolve("tokens.txt");
+        Files.write(input, lines);
+        Path results = tempDir.resolve("results.txt");
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 4, 64).validate(input, results);
+
+        assertEquals(1_000, summary.lines());
+        assertEquals(250, summary.valid());
+        assertEquals(250, summary.errors());
+        assertEquals(250, summary.rejections().get("seed"));
+        assertEquals(250, summary.rejections().get("structure"));
+        assertEquals(0, summary.rejections().get("name"));
+        assertEquals(Files.size(input), summary.bytes());
+        assertEquals(expected, Files.readAllLines(results));
+    }
+
+    @Test
+    void validate_crlfAndMissingFinalNewline_shouldStillSplitLines() throws Exception {
+        Path input = tempDir.resolve("tokens.txt");
+        Files.writeString(input, "ok\r\nseed\r\nok");
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 2).validate(input, null);
+
+        assertEquals(3, summary.lines());
+        assertEquals(2, summary.valid());
+        assertEquals(1, summary.rejections().get("seed"));
+    }
+
+    @Test
+    void validate_blankLines_shouldBeSkippedLikeTheStreamEndpoint() throws Exception {
+        Path input = tempDir.resolve("tokens.txt");
+        Files.writeString(input, "ok\n\n\r\n \t\nseed\n\n");
+        Path results = tempDir.resolve("results.txt");
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 1).validate(input, results);
+
+        assertEquals(2, summary.lines());
+        assertEquals(0, summary.rejections().get("structure"));
+        assertEquals(List.of("valid", "", "", "", "seed", ""), Files.readAllLines(results));
+    }
+
+    @Test
+    void validate_results_shouldAnswerEachInputLineOnTheSameLine() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add(i % 3 == 0 ? " " : i % 3 == 1 ? "ok" : "seed");
+        }
+        Path input = tempDir.resolve("tokens.txt");
+        Files.write(input, lines);
+        Path results = tempDir.resolve("results.txt");
+
+        new TokenFileValidator(validationService, 4, 64).validate(input, results);
+
+        List<String> answers = Files.readAllLines(results);
+        assertEquals(lines.size(), answers.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i % 3 == 0 ? "" : i % 3 == 1 ? "valid" : "seed", answers.get(i));
+        }
+    }
+
+    @Test
+    void validate_overlongLine_shouldBeRejectedAsOversized() throws Exception {
+        Path input = tempDir.resolve("tokens.txt");
+        Files.writeString(input, "x".repeat(100_000) + "\nok\n");
+        Path results = tempDir.resolve("results.txt");
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 1).validate(input, results);
+
+        assertEquals(List.of("size", "valid"), Files.readAllLines(results));
+        assertEquals(1, summary.rejections().get("size"));
+    }
+
+    @Test
+    void validate_unsplittableRangeLargerThanAWindow_shouldBeMappedInWindows() throws Exception {
+        Path input = tempDir.resolve("tokens.txt");
+        Files.writeString(input, "ok\n" + "x".repeat(300_000) + "\nok\n" + "y".repeat(300_000));
+        Path results = tempDir.resolve("results.txt");
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 1, 64).validate(input, results);
+
+        assertEquals(List.of("valid", "size", "valid", "size"), Files.readAllLines(results));
+        assertEquals(2, summary.rejections().get("size"));
+    }
+
+    @Test
+    void validate_eachLine_shouldRunUnderItsOwnCorrelationId() throws Exception {
+        Path input = tempDir.resolve("tokens.txt");
+        Files.write(input, Collections.nCopies(200, "traced"));
+
+        new TokenFileValidator(validationService, 2, 64).validate(input, null);
+
+        assertEquals(200, correlationIds.size());
+        assertEquals(200, new HashSet<>(correlationIds).size());
+    }
+
+    @Test
+    void validate_emptyFile_shouldReportNothing() throws Exception {
+        Path input = Files.createFile(tempDir.resolve("tokens.txt"));
+
+        FileValidationSummary summary = new TokenFileValidator(validationService, 1).validate(input, null);
+
+        assertEquals(0, summary.lines());
+    }
+}
@@ -1,8 +1,14 @@
 package com.jwt.validator.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jwt.validator.dto.request.BatchValidationRequestDTO;
 import com.jwt.validator.dto.request.ValidationRequestDTO;
+import com.jwt.validator.dto.response.BatchValidationResponseDTO;
+import com.jwt.validator.dto.response.ValidationDetailResponseDTO;
+import com.jwt.validator.service.jwt.BatchValidationService;
 import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.StreamValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,6 +17,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +28,12 @@ class ValidationControllerTest {
     @Mock
     private JwtValidationService jwtValidationService;
 
+    @Mock
+    private BatchValidationService batchValidationService;
+
+    @Mock
+    private StreamValidationService streamValidationService;
+
     @InjectMocks
     private ValidationController validationController;
 
@@ -94,4 +108,39 @@ class ValidationControllerTest {
         });
         verify(jwtValidationService, times(1)).validateJwt(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateJwtWithDetail_WithInvalidClaim_ShouldExposeReason() {
+        when(jwtValidationService.validate(invalidToken)).thenReturn(ValidationResult.INVALID_ROLE);
+
+        ResponseEntity<ValidationDetailResponseDTO> actualResponse =
+                validationController.validateJwtWithDetail(createRequestDto(invalidToken));
+
+        assertEquals(HttpStatus.BAD_REQUEST, actualResponse.getStatusCode());
+        assertEquals(new ValidationDetailResponseDTO(false, "role", "Role"), actualResponse.getBody());
+        assertSame(actualResponse, validationController.validateJwtWithDetail(createRequestDto(invalidToken)));
+    }
+
+    @Test
+    void validateJwtWithDetail_WithValidToken_ShouldOmitReason() {
+        when(jwtValidationService.validate(validToken)).thenReturn(ValidationResult.VALID);
+
+        ResponseEntity<ValidationDetailResponseDTO> actualResponse =
+                validationController.validateJwtWithDetail(createRequestDto(validToken));
+
+        assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
+        assertEquals(new ValidationDetailResponseDTO(true, null, null), actualResponse.getBody());
+    }
+
+    @Test
+    void validateBatch_WithinLimit_ShouldReturnResultsInOrder() {
+        List<String> tokens = List.of(validToken, invalidToken);
+        when(batchValidationService.validateAll(tokens)).thenReturn(List.of(true, false));
+
+        ResponseEntity<BatchValidationResponseDTO> actualResponse =
+                validationController.validateBatch(new BatchValidationRequestDTO(tokens));
+
+        assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
+        assertEquals(List.of(true, false), actualResponse.getBody().results());
+    }
+}
@@ -0,0 +1,84 @@
+package com.jwt.validator.filter;
+
+import com.jwt.validator.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void doFilter_overLimit_shouldAnswer503WithRetryAfter() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(true, 1));
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        AtomicInteger served = new AtomicInteger();
+
+        filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(), (req, res) -> {
+            served.incrementAndGet();
+            filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), shed, (inner, out) -> served.incrementAndGet());
+        });
+
+        assertEquals(1, served.get());
+        assertEquals(503, shed.getStatus());
+        assertEquals("2", shed.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void doFilter_afterRelease_shouldAdmitAgain() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(true, 1));
+        AtomicInteger served = new AtomicInteger();
+
+        filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(), (req, res) -> served.incrementAndGet());
+        filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(), (req, res) -> served.incrementAndGet());
+
+        assertEquals(2, served.get());
+    }
+
+    @Test
+    void doFilter_otherPathsOrDisabled_shouldNeverShed() throws Exception {
+        ConcurrencyLimitFilter limited = new ConcurrencyLimitFilter(properties(true, 1));
+        ConcurrencyLimitFilter disabled = new ConcurrencyLimitFilter(properties(false, 1));
+        MockHttpServletResponse batch = new MockHttpServletResponse();
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        limited.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(),
+                (req, res) -> limited.doFilter(request("/api/v1/validate/batch"), batch, (inner, out) -> { }));
+        disabled.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(),
+                (req, res) -> disabled.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), nested, (inner, out) -> { }));
+
+        assertEquals(200, batch.getStatus());
+        assertEquals(200, nested.getStatus());
+    }
+
+    @Test
+    void bindTo_shouldExposeLimitInFlightAndRejections() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(true, 1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(), (req, res) -> {
+            assertEquals(1, registry.get("jwt.validation.concurrency.in_flight").gauge().value());
+            filter.doFilter(request(ConcurrencyLimitFilter.LIMITED_PATH), new MockHttpServletResponse(), (inner, out) -> { });
+        });
+
+        assertEquals(1, registry.get("jwt.validation.concurrency.limit").gauge().value());
+        assertEquals(0, registry.get("jwt.validation.concurrency.in_flight").gauge().value());
+        assertEquals(1, registry.get("jwt.validation.concurrency.rejections").functionCounter().count());
+    }
+
+    private static ConcurrencyLimitProperties properties(boolean enabled, int limit) {
+        return new ConcurrencyLimitProperties(enabled, limit, limit, limit, 0.9, 2.0,
+                Duration.ofMillis(10), Duration.ofMillis(1500));
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
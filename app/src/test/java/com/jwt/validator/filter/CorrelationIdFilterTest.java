@@ -0,0 +1,59 @@
+package com.jwt.validator.filter;
+
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void doFilter_incomingHeader_shouldBeUsedDuringTheRequestAndClearedAfter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(RequestUUIDHolder.MDC_KEY)));
+
+        assertEquals("abc-123", seen.get());
+        assertEquals("abc-123", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(RequestUUIDHolder.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_staleIdOnThread_shouldBeReplaced() throws Exception {
+        RequestUUIDHolder.setUuid("previous-request");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> seen.set(RequestUUIDHolder.getUuid()));
+
+        assertNotEquals("previous-request", seen.get());
+        assertEquals(seen.get(), response.getHeader(CorrelationIdFilter.HEADER));
+        assertEquals(4, UUID.fromString(seen.get()).version());
+        assertNull(MDC.get(RequestUUIDHolder.MDC_KEY));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "with space", "line\nbreak", "{json}"})
+    void isAcceptable_unsafeIds_shouldBeRejected(String correlationId) {
+        assertFalse(CorrelationIdFilter.isAcceptable(correlationId));
+    }
+
+    @Test
+    void isAcceptable_overlongId_shouldBeRejected() {
+        assertTrue(CorrelationIdFilter.isAcceptable("a".repeat(CorrelationIdFilter.MAX_LENGTH)));
+        assertFalse(CorrelationIdFilter.isAcceptable("a".repeat(CorrelationIdFilter.MAX_LENGTH + 1)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.config.SharedCacheProperties;
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.signature.JwksKeyStore;
+import com.jwt.validator.service.jwt.signature.JwsAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileSecondLevelCacheTest {
+
+    private static final String KEY = "000102030405060708090a0b0c0d0e0f";
+    private static final TokenPreFilterProperties PRE_FILTER = new TokenPreFilterProperties(true, 16384, 8192, 4096);
+    private static final TokenDigest DIGEST = new TokenDigest(0x1234L, 0x5678L);
+    private static final long FINGERPRINT = inputs(PRE_FILTER).fingerprint();
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void put_shouldBeVisibleToAnotherMappingOfTheFile() {
+        MappedFileSecondLevelCache first = open(KEY, 64, PRE_FILTER);
+        MappedFileSecondLevelCache second = open(KEY, 64, PRE_FILTER);
+
+        assertNull(second.get(DIGEST));
+        first.put(DIGEST, ValidationResult.INVALID_SEED, FINGERPRINT);
+
+        assertEquals(ValidationResult.INVALID_SEED, second.get(DIGEST));
+    }
+
+    @Test
+    void put_errorResult_shouldNotBeStored() {
+        MappedFileSecondLevelCache cache = open(KEY, 64, PRE_FILTER);
+
+        cache.put(DIGEST, ValidationResult.ERROR, FINGERPRINT);
+
+        assertNull(cache.get(DIGEST));
+    }
+
+    @Test
+    void get_expiredResult_shouldMiss() {
+        MappedFileSecondLevelCache cache = open(KEY, 64, PRE_FILTER);
+        cache.put(DIGEST, ValidationResult.VALID, FINGERPRINT);
+
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertNull(cache.get(DIGEST));
+    }
+
+    @Test
+    void get_resultComputedUnderOtherSettings_shouldMiss() {
+        open(KEY, 64, PRE_FILTER).put(DIGEST, ValidationResult.VALID, FINGERPRINT);
+
+        MappedFileSecondLevelCache stricter = open(KEY, 64, new TokenPreFilterProperties(true, 4096, 2048, 1024));
+
+        assertTrue(stricter.isEnabled());
+        assertNull(stricter.get(DIGEST));
+    }
+
+    @Test
+    void put_resultComputedBeforeReload_shouldKeepItsFingerprint() {
+        MappedFileSecondLevelCache writer = open(KEY, 64, PRE_FILTER);
+        MappedFileSecondLevelCache reader = open(KEY, 64, PRE_FILTER);
+
+        // Evaluated under inputs that were replaced before the put.
+        writer.put(DIGEST, ValidationResult.VALID, FINGERPRINT + 1);
+
+        assertNull(reader.get(DIGEST));
+    }
+
+    @Test
+    void get_tornSlot_shouldMiss() throws Exception {
+        MappedFileSecondLevelCache cache = open(KEY, 64, PRE_FILTER);
+        cache.put(DIGEST, ValidationResult.VALID, FINGERPRINT);
+
+        long slot = MappedFileSecondLevelCache.HEADER_BYTES + (DIGEST.low() & 63) * MappedFileSecondLevelCache.SLOT_BYTES;
+        try (RandomAccessFile file = new RandomAccessFile(file().toFile(), "rw")) {
+            file.seek(slot + 3 * Long.BYTES);
+            int data = file.read();
+            file.seek(slot + 3 * Long.BYTES);
+            file.write(data ^ 0x01);
+        }
+
+        assertNull(cache.get(DIGEST));
+    }
+
+    @Test
+    void put_fullNeighbourhood_shouldKeepNewestResult() {
+        MappedFileSecondLevelCache cache = open(KEY, 64, PRE_FILTER);
+        for (int i = 0; i <= MappedFileSecondLevelCache.PROBES; i++) {
+            cache.put(new TokenDigest(i, 64L * i), ValidationResult.VALID, FINGERPRINT);
+        }
+
+        assertEquals(ValidationResult.VALID, cache.get(new TokenDigest(MappedFileSecondLevelCache.PROBES,
+                64L * MappedFileSecondLevelCache.PROBES)));
+    }
+
+    @Test
+    void open_mismatchedFile_shouldDisableSharedCache() {
+        open(KEY, 64, PRE_FILTER);
+
+        assertFalse(open("ffffffffffffffffffffffffffffffff", 64, PRE_FILTER).isEnabled());
+        assertFalse(open(KEY, 128, PRE_FILTER).isEnabled());
+    }
+
+    @Test
+    void open_withoutDigestKeyOrPath_shouldDisableSharedCache() {
+        MappedFileSecondLevelCache withoutKey = open(null, 64, PRE_FILTER);
+        MappedFileSecondLevelCache withoutPath = new MappedFileSecondLevelCache(
+                new SharedCacheProperties("", 64), cacheProperties(KEY), inputs(PRE_FILTER), clock::get);
+        withoutPath.open();
+
+        assertFalse(withoutKey.isEnabled());
+        assertFalse(withoutPath.isEnabled());
+        withoutPath.put(DIGEST, ValidationResult.VALID, FINGERPRINT);
+        assertNull(withoutPath.get(DIGEST));
+    }
+
+    private MappedFileSecondLevelCache open(String key, int slots, TokenPreFilterProperties preFilter) {
+        MappedFileSecondLevelCache cache = new MappedFileSecondLevelCache(
+                new SharedCacheProperties(file().toString(), slots), cacheProperties(key), inputs(preFilter), clock::get);
+        cache.open();
+        return cache;
+    }
+
+    private Path file() {
+        return tempDir.resolve("shared-cache.bin");
+    }
+
+    private static ValidationCacheProperties cacheProperties(String key) {
+        return new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, key);
+    }
+
+    private static ValidationInputs inputs(TokenPreFilterProperties preFilter) {
+        SignatureProperties signature = new SignatureProperties(false, null, Set.of(JwsAlgorithm.HS256), Duration.ofSeconds(30));
+        return new ValidationInputs(
+                new ClaimRulesStore(new ClaimRulesProperties("", Duration.ofSeconds(30)), event -> { }),
+                new JwksKeyStore(signature, event -> { }),
+                signature,
+                preFilter);
+    }
+}
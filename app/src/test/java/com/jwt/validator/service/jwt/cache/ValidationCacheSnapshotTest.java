@@ -0,0 +1,173 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.CacheSnapshotProperties;
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.signature.JwksKeyStore;
+import com.jwt.validator.service.jwt.signature.JwsAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationCacheSnapshotTest {
+
+    private static final String KEY = "000102030405060708090a0b0c0d0e0f";
+    private static final TokenPreFilterProperties PRE_FILTER = new TokenPreFilterProperties(true, 16384, 8192, 4096);
+    private static final SignatureProperties SIGNATURE =
+            new SignatureProperties(false, null, Set.of(JwsAlgorithm.HS256), Duration.ofSeconds(30));
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void saveThenLoad_shouldRestoreCacheableResultsInNewCache() throws Exception {
+        ValidationResultCache cache = cache(KEY);
+        cache.put(cache.digest("a.b.c"), ValidationResult.VALID, cache.inputs());
+        cache.put(cache.digest("a.b.d"), ValidationResult.INVALID_SEED, cache.inputs());
+        cache.put(cache.digest("a.b.e"), ValidationResult.ERROR, cache.inputs());
+
+        assertEquals(2, snapshot(cache, PRE_FILTER).save());
+
+        ValidationResultCache restored = cache(KEY);
+        assertEquals(2, snapshot(restored, PRE_FILTER).load());
+        assertEquals(ValidationResult.VALID, restored.get(restored.digest("a.b.c")));
+        assertEquals(ValidationResult.INVALID_SEED, restored.get(restored.digest("a.b.d")));
+        assertNull(restored.get(restored.digest("a.b.e")));
+    }
+
+    @Test
+    void load_expiredResults_shouldBeSkipped() throws Exception {
+        ValidationResultCache cache = cache(KEY);
+        cache.put(cache.digest("a.b.c"), ValidationResult.VALID, cache.inputs());
+        snapshot(cache, PRE_FILTER).save();
+
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+    }
+
+    @Test
+    void load_missingFile_shouldRestoreNothing() {
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+    }
+
+    @Test
+    void load_otherDigestKey_shouldIgnoreFile() throws Exception {
+        savedSnapshot();
+
+        ValidationResultCache otherKey = cache("ffffffffffffffffffffffffffffffff");
+        assertEquals(0, snapshot(otherKey, PRE_FILTER).load());
+        assertEquals(0, otherKey.estimatedSize());
+    }
+
+    @Test
+    void load_otherSettings_shouldIgnoreFile() throws Exception {
+        savedSnapshot();
+
+        TokenPreFilterProperties stricter = new TokenPreFilterProperties(true, 4096, 2048, 1024);
+        assertEquals(0, snapshot(cache(KEY), stricter).load());
+    }
+
+    @Test
+    void load_corruptedFile_shouldIgnoreFile() throws Exception {
+        byte[] content = savedSnapshot();
+        content[content.length / 2] ^= 0x01;
+        Files.write(file(), content);
+
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+    }
+
+    @Test
+    void load_truncatedFile_shouldIgnoreFile() throws Exception {
+        byte[] content = savedSnapshot();
+        Files.write(file(), Arrays.copyOf(content, content.length - 10));
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+
+        Files.write(file(), new byte[3]);
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+    }
+
+    @Test
+    void load_otherFormatVersion_shouldIgnoreFile() throws Exception {
+        byte[] content = savedSnapshot();
+        ByteBuffer.wrap(content).putShort(Integer.BYTES, (short) (ValidationCacheSnapshot.FORMAT_VERSION + 1));
+        Files.write(file(), withChecksum(content));
+
+        assertEquals(0, snapshot(cache(KEY), PRE_FILTER).load());
+    }
+
+    @Test
+    void withoutConfiguredKey_shouldNotWriteSnapshots() throws Exception {
+        ValidationResultCache cache = cache(null);
+        ValidationCacheSnapshot snapshot = new ValidationCacheSnapshot(cache,
+                new CacheSnapshotProperties(file().toString(), Duration.ofMillis(10)),
+                cacheProperties(null),
+                new ValidationInputs(
+                        new ClaimRulesStore(new ClaimRulesProperties("", Duration.ofSeconds(30)), event -> { }),
+                        new JwksKeyStore(SIGNATURE, event -> { }),
+                        SIGNATURE,
+                        PRE_FILTER),
+                clock::get);
+        cache.put(cache.digest("a.b.c"), ValidationResult.VALID, cache.inputs());
+
+        snapshot.start();
+        Thread.sleep(50);
+        snapshot.stop();
+
+        assertFalse(Files.exists(file()));
+    }
+
+    private byte[] savedSnapshot() throws Exception {
+        ValidationResultCache cache = cache(KEY);
+        cache.put(cache.digest("a.b.c"), ValidationResult.VALID, cache.inputs());
+        snapshot(cache, PRE_FILTER).save();
+        return Files.readAllBytes(file());
+    }
+
+    private static byte[] withChecksum(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, content.length - Integer.BYTES);
+        ByteBuffer.wrap(content).putInt(content.length - Integer.BYTES, (int) crc.getValue());
+        return content;
+    }
+
+    private Path file() {
+        return tempDir.resolve("cache.snapshot");
+    }
+
+    private ValidationCacheSnapshot snapshot(ValidationResultCache cache, TokenPreFilterProperties preFilter) {
+        return new ValidationCacheSnapshot(cache,
+                new CacheSnapshotProperties(file().toString(), Duration.ZERO),
+                cacheProperties(KEY),
+                new ValidationInputs(
+                        new ClaimRulesStore(new ClaimRulesProperties("", Duration.ofSeconds(30)), event -> { }),
+                        new JwksKeyStore(SIGNATURE, event -> { }),
+                        SIGNATURE,
+                        preFilter),
+                clock::get);
+    }
+
+    private static ValidationResultCache cache(String key) {
+        return new ValidationResultCache(cacheProperties(key));
+    }
+
+    private static ValidationCacheProperties cacheProperties(String key) {
+        return new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, key);
+    }
+}
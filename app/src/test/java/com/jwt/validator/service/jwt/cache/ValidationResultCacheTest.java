@@ -0,0 +1,111 @@
+package com.jwt.validator.service.jwt.cache;
+
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ValidationResultCacheTest {
+
+    private static final String KEY = "000102030405060708090a0b0c0d0e0f";
+
+    @Test
+    void digest_sameKey_shouldBeStableAcrossInstances() {
+        ValidationResultCache first = cache(true, 4096, KEY);
+        ValidationResultCache second = cache(true, 4096, KEY);
+
+        assertEquals(first.digest("a.b.c"), second.digest("a.b.c"));
+        assertNotEquals(first.digest("a.b.c"), first.digest("a.b.d"));
+    }
+
+    @Test
+    void digest_shouldDependOnLengthAndKey() {
+        ValidationResultCache cache = cache(true, 4096, KEY);
+        ValidationResultCache otherKey = cache(true, 4096, "ffffffffffffffffffffffffffffffff");
+
+        assertNotEquals(cache.digest("abcd"), cache.digest("abcd\u0000"));
+        assertNotEquals(cache.digest("a.b.c"), otherKey.digest("a.b.c"));
+    }
+
+    @Test
+    void digest_disabledOrOversizedToken_shouldNotBeCacheable() {
+        assertNull(cache(false, 4096, KEY).digest("a.b.c"));
+        assertNull(cache(true, 4, KEY).digest("a.b.c"));
+    }
+
+    @Test
+    void getAndPut_shouldRecordHitsAndMisses() {
+        ValidationResultCache cache = cache(true, 4096, KEY);
+        TokenDigest digest = cache.digest("a.b.c");
+
+        assertNull(cache.get(digest));
+        cache.put(digest, ValidationResult.INVALID_SEED, cache.inputs());
+        assertEquals(ValidationResult.INVALID_SEED, cache.get(digest));
+
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void get_secondLevelHit_shouldPromoteResult() {
+        SecondLevelCache secondLevel = mock(SecondLevelCache.class);
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, KEY), () -> 0L, secondLevel);
+        TokenDigest digest = cache.digest("a.b.c");
+        when(secondLevel.get(digest)).thenReturn(ValidationResult.INVALID_ROLE);
+
+        assertEquals(ValidationResult.INVALID_ROLE, cache.get(digest));
+        assertEquals(ValidationResult.INVALID_ROLE, cache.get(digest));
+
+        verify(secondLevel, times(1)).get(digest);
+        cache.put(cache.digest("a.b.d"), ValidationResult.VALID, cache.inputs());
+        verify(secondLevel).put(cache.digest("a.b.d"), ValidationResult.VALID, 0L);
+    }
+
+    @Test
+    void put_inputsChangedSinceEvaluation_shouldNotBeCached() {
+        AtomicLong inputs = new AtomicLong(1);
+        SecondLevelCache secondLevel = mock(SecondLevelCache.class);
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, KEY), inputs::get, secondLevel);
+        TokenDigest digest = cache.digest("a.b.c");
+
+        long evaluated = cache.inputs();
+        inputs.incrementAndGet();
+        cache.put(digest, ValidationResult.VALID, evaluated);
+
+        assertNull(cache.get(digest));
+        verify(secondLevel, never()).put(any(), any(), anyLong());
+    }
+
+    @Test
+    void put_inputsChangedDuringWrite_shouldDropTheEntry() {
+        AtomicLong reads = new AtomicLong();
+        SecondLevelCache secondLevel = mock(SecondLevelCache.class);
+        // The second read, taken after the write, sees a reload.
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, KEY),
+                () -> reads.incrementAndGet() > 1 ? 2L : 1L, secondLevel);
+        TokenDigest digest = cache.digest("a.b.c");
+
+        cache.put(digest, ValidationResult.VALID, 1L);
+
+        assertNull(cache.get(digest));
+        verify(secondLevel, never()).put(any(), any(), anyLong());
+    }
+
+    @Test
+    void constructor_invalidDigestKey_shouldFail() {
+        assertThrows(IllegalStateException.class, () -> cache(true, 4096, "abcd"));
+    }
+
+    private static ValidationResultCache cache(boolean enabled, int maxTokenLength, String key) {
+        return new ValidationResultCache(
+                new ValidationCacheProperties(enabled, 100, Duration.ofMinutes(1), maxTokenLength, key));
+    }
+}
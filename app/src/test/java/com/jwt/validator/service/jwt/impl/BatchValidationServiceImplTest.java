@@ -0,0 +1,67 @@
+package com.jwt.validator.service.jwt.impl;
+
+import com.jwt.validator.config.BatchValidationProperties;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchValidationServiceImplTest {
+
+    @Mock
+    private JwtValidationService jwtValidationService;
+
+    private BatchValidationServiceImpl batchValidationService;
+
+    @BeforeEach
+    void setUp() {
+        batchValidationService = new BatchValidationServiceImpl(jwtValidationService, new BatchValidationProperties(50, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchValidationService.shutdown();
+    }
+
+    @Test
+    void validateAll_shouldKeepRequestOrder() {
+        when(jwtValidationService.validateInBulk(anyString())).thenAnswer(invocation -> {
+            int index = Integer.parseInt(invocation.getArgument(0));
+            return index % 3 == 0 ? ValidationResult.VALID : ValidationResult.INVALID_SEED;
+        });
+        List<String> tokens = IntStream.range(0, 50).mapToObj(String::valueOf).toList();
+
+        List<Boolean> results = batchValidationService.validateAll(tokens);
+
+        assertEquals(50, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 3 == 0, results.get(i), "index " + i);
+        }
+        verify(jwtValidationService, times(50)).validateInBulk(anyString());
+    }
+
+    @Test
+    void validateAll_serviceFailure_shouldReportInvalid() {
+        when(jwtValidationService.validateInBulk("bad")).thenReturn(ValidationResult.ERROR);
+        when(jwtValidationService.validateInBulk("good")).thenReturn(ValidationResult.VALID);
+
+        assertEquals(List.of(false, true), batchValidationService.validateAll(List.of("bad", "good")));
+    }
+
+    @Test
+    void maxBatchSize_shouldComeFromProperties() {
+        assertEquals(50, batchValidationService.maxBatchSize());
+    }
+}
@@ -2,15 +2,34 @@ package com.jwt.validator.service.jwt.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.config.FlightRecordingProperties;
+import com.jwt.validator.config.TokenPreFilterProperties;
+import com.jwt.validator.config.ValidationCacheProperties;
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.ValidationResult;
+import com.jwt.validator.service.jwt.cache.SecondLevelCache;
+import com.jwt.validator.service.jwt.cache.ValidationResultCache;
+import com.jwt.validator.service.jwt.metrics.ValidationFlightRecorder;
+import com.jwt.validator.service.jwt.metrics.ValidationMetrics;
+import com.jwt.validator.service.jwt.prefilter.TokenPreFilter;
+import com.jwt.validator.service.jwt.rules.ClaimRulesReloadedEvent;
+import com.jwt.validator.service.jwt.rules.ClaimRulesStore;
+import com.jwt.validator.service.jwt.signature.SignatureVerifier;
 import com.jwt.validator.service.prime.PrimeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +40,26 @@ class JwtValidationServiceImplTest {
     @Mock
     private PrimeService primeService;
 
+    @Mock
+    private ValidationResultCache resultCache;
+
+    @Mock
+    private SignatureVerifier signatureVerifier;
+
+    @Spy
+    private ValidationMetrics metrics = new ValidationMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private ClaimRulesStore claimRules = new ClaimRulesStore(
+            new ClaimRulesProperties(null, Duration.ofSeconds(30)), event -> { });
+
+    @Spy
+    private TokenPreFilter preFilter = new TokenPreFilter(new TokenPreFilterProperties(true, 16384, 8192, 4096));
+
+    @Spy
+    private ValidationFlightRecorder flightRecorder = new ValidationFlightRecorder(
+            new FlightRecordingProperties(Duration.ZERO, Duration.ofMinutes(5), DataSize.ofMegabytes(64)));
+
     @InjectMocks
     private JwtValidationServiceImpl jwtValidationService;
 
@@ -49,6 +88,17 @@ class JwtValidationServiceImplTest {
         ResponseEntity<Boolean> result = jwtValidationService.validateJwt("header.invalidBase64.signature");
         assertFalse(result.getBody());
         verifyNoInteractions(primeService);
+        verify(metrics).rejected(RejectionReason.BASE64);
+    }
+
+    @Test
+    void validateJwt_extraSegment_shouldReturnFalse() throws JsonProcessingException {
+        String payload = "{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}";
+        String token = createToken(payload) + ".";
+
+        ResponseEntity<Boolean> result = jwtValidationService.validateJwt(token);
+        assertFalse(result.getBody());
+        verifyNoInteractions(primeService);
     }
 
     @Test
@@ -90,6 +140,7 @@ class JwtValidationServiceImplTest {
         ResponseEntity<Boolean> result = jwtValidationService.validateJwt(token);
         assertFalse(result.getBody());
         verifyNoInteractions(primeService);
+        verify(metrics).rejected(RejectionReason.NAME);
     }
 
     @Test
@@ -123,6 +174,7 @@ class JwtValidationServiceImplTest {
         ResponseEntity<Boolean> result = jwtValidationService.validateJwt(token);
         assertFalse(result.getBody());
         verify(primeService).isPrime(100);
+        verify(metrics).rejected(RejectionReason.SEED);
     }
 
     @Test
@@ -145,6 +197,89 @@ class JwtValidationServiceImplTest {
         verifyNoInteractions(primeService);
     }
 
+    @Test
+    void validate_shouldReportReasonAndFailedClaim() throws JsonProcessingException {
+        when(primeService.isPrime(100)).thenReturn(false);
+
+        assertSame(ValidationResult.INVALID_STRUCTURE, jwtValidationService.validate("no-dots"));
+        assertSame(ValidationResult.INVALID_BASE64, jwtValidationService.validate("header.invalidBase64.signature"));
+        assertSame(ValidationResult.INVALID_JSON, jwtValidationService.validate(createToken("{\"Name\":\"Pedro\\q\"}")));
+        assertSame(ValidationResult.INVALID_ROLE, jwtValidationService.validate(
+                createToken("{\"Role\":\"Guest\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}")));
+        ValidationResult seed = jwtValidationService.validate(
+                createToken("{\"Role\":\"Admin\",\"Seed\":\"100\",\"Name\":\"Pedro Silva\"}"));
+
+        assertSame(ValidationResult.INVALID_SEED, seed);
+        assertEquals("Seed", seed.failedClaim());
+        assertEquals(RejectionReason.SEED, seed.reason());
+    }
+
+    @Test
+    void validate_oversizedPayload_shouldBeRejectedBeforeCacheAndDecoding() throws JsonProcessingException {
+        String token = createToken("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"" + "A".repeat(5000) + "\"}");
+
+        assertSame(ValidationResult.INVALID_SIZE, jwtValidationService.validate(token));
+        verifyNoInteractions(resultCache, primeService);
+        verify(metrics).rejected(RejectionReason.SIZE);
+    }
+
+    @Test
+    void validateJwt_shouldReuseResponseInstances() throws JsonProcessingException {
+        String token = createToken("{\"Role\":\"Guest\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}");
+
+        assertSame(jwtValidationService.validateJwt(token), jwtValidationService.validateJwt("no-dots"));
+    }
+
+    @Test
+    void validateJwt_repeatedToken_shouldBeServedFromCache() throws JsonProcessingException {
+        when(primeService.isPrime(7841)).thenReturn(true);
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, null));
+        JwtValidationServiceImpl cachingService = new JwtValidationServiceImpl(primeService, cache, signatureVerifier, metrics, claimRules, preFilter, flightRecorder);
+        String token = createToken("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}");
+
+        assertTrue(cachingService.validateJwt(token).getBody());
+        assertTrue(cachingService.validateJwt(token).getBody());
+
+        verify(primeService, times(1)).isPrime(7841);
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void validate_cacheHit_shouldStillCountOutcomeAndReason() throws JsonProcessingException {
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, null));
+        JwtValidationServiceImpl cachingService = new JwtValidationServiceImpl(primeService, cache, signatureVerifier, metrics, claimRules, preFilter, flightRecorder);
+        String token = createToken("{\"Role\":\"Admin\",\"Seed\":\"100\",\"Name\":\"Pedro Silva\"}");
+
+        assertEquals(ValidationResult.INVALID_SEED, cachingService.validate(token));
+        assertEquals(ValidationResult.INVALID_SEED, cachingService.validate(token));
+
+        assertEquals(1, cache.stats().hitCount());
+        verify(metrics, times(2)).rejected(RejectionReason.SEED);
+    }
+
+    @Test
+    void validate_rulesReloadedDuringEvaluation_shouldNotCacheStaleResult() throws JsonProcessingException {
+        AtomicLong inputs = new AtomicLong(1);
+        ValidationResultCache cache = new ValidationResultCache(
+                new ValidationCacheProperties(true, 100, Duration.ofMinutes(1), 4096, null), inputs::get,
+                SecondLevelCache.NONE);
+        JwtValidationServiceImpl cachingService = new JwtValidationServiceImpl(primeService, cache, signatureVerifier, metrics, claimRules, preFilter, flightRecorder);
+        when(primeService.isPrime(7841)).thenAnswer(invocation -> {
+            // A reload lands after the old rules were read but before the result is stored.
+            inputs.incrementAndGet();
+            cache.onClaimRulesReloaded(new ClaimRulesReloadedEvent("test"));
+            return true;
+        });
+        String token = createToken("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}");
+
+        assertTrue(cachingService.validate(token).isValid());
+
+        assertNull(cache.get(cache.digest(token)));
+        assertEquals(0, cache.estimatedSize());
+    }
+
     private String createToken(String payload) throws JsonProcessingException {
         String header = "{\"alg\":\"HS256\"}";
         String base64Header = Base64.getUrlEncoder().encodeToString(header.getBytes());
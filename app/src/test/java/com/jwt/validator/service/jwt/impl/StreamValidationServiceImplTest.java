@@ -0,0 +1,182 @@
+package com.jwt.validator.service.jwt.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jwt.validator.config.StreamValidationProperties;
+import com.jwt.validator.service.jwt.JwtValidationService;
+import com.jwt.validator.service.jwt.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamValidationServiceImplTest {
+
+    private static final String VALID = "{\"valid\":true}\n";
+    private static final String SEED = "{\"valid\":false,\"reason\":\"seed\",\"claim\":\"Seed\"}\n";
+    private static final String MALFORMED = "{\"valid\":false,\"reason\":\"malformed\"}\n";
+
+    @Mock
+    private JwtValidationService jwtValidationService;
+
+    private StreamValidationServiceImpl streamValidationService;
+
+    @BeforeEach
+    void setUp() {
+        streamValidationService = new StreamValidationServiceImpl(jwtValidationService, new StreamValidationProperties(64));
+    }
+
+    @Test
+    void validateAll_shouldAnswerEachLineInOrder() throws IOException {
+        when(jwtValidationService.validateInBulk("a.b.c")).thenReturn(ValidationResult.VALID);
+        when(jwtValidationService.validateInBulk("a.b.d")).thenReturn(ValidationResult.INVALID_SEED);
+
+        String output = validate("{\"token\":\"a.b.c\"}\n\"a.b.d\"\r\n\n   \n{\"id\":7,\"token\":\"a.b.c\"}");
+
+        assertEquals(VALID + SEED + VALID, output);
+    }
+
+    @Test
+    void validateAll_malformedLines_shouldBeAnsweredAsMalformed() throws IOException {
+        String output = validate("not json\n{\"jwt\":\"a.b.c\"}\n42\n{\"token\":7}\n");
+
+        assertEquals(MALFORMED.repeat(4), output);
+        verifyNoInteractions(jwtValidationService);
+    }
+
+    @Test
+    void validateAll_truncatedOrTrailingInput_shouldBeAnsweredAsMalformed() throws IOException {
+        String output = validate("{\"token\":\"a.b.c\"\n{\"token\":\"a.b.c\"} junk\n\"a.b.c\" \"a.b.d\"\n{\"token\":\"a.b.c\"}{}\n");
+
+        assertEquals(MALFORMED.repeat(4), output);
+        verifyNoInteractions(jwtValidationService);
+    }
+
+    @Test
+    void validateAll_malformedLine_shouldCarryItsReasonLikeEveryOtherAnswer() throws IOException {
+        JsonNode answer = new ObjectMapper().readTree(validate("not json\n"));
+
+        assertFalse(answer.get("valid").asBoolean());
+        assertEquals("malformed", answer.path("reason").asText(null));
+        assertFalse(answer.has("error"));
+    }
+
+    @Test
+    void validateAll_overlongLine_shouldBeAnsweredAsOversizedWithoutBuffering() throws IOException {
+        when(jwtValidationService.validateInBulk("a.b.c")).thenReturn(ValidationResult.VALID);
+
+        String output = validate("\"" + "x".repeat(500) + "\"\n\"a.b.c\"\n");
+
+        assertEquals("{\"valid\":false,\"reason\":\"size\"}\n" + VALID, output);
+        verify(jwtValidationService, times(1)).validateInBulk(anyString());
+    }
+
+    @Test
+    void validateAll_unexpectedException_shouldAnswerErrorAndContinue() throws IOException {
+        when(jwtValidationService.validateInBulk("a.b.c")).thenThrow(new IllegalStateException("boom"));
+        when(jwtValidationService.validateInBulk("a.b.d")).thenReturn(ValidationResult.INVALID_SEED);
+
+        String output = validate("\"a.b.c\"\n\"a.b.d\"\n");
+
+        assertEquals("{\"valid\":false,\"reason\":\"error\"}\n" + SEED, output);
+    }
+
+    @Test
+    void validateAll_shouldFlushAnswersBeforeWaitingForMoreInput() throws IOException {
+        when(jwtValidationService.validateInBulk(anyString())).thenReturn(ValidationResult.VALID);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<String> seenBeforeSecondChunk = new ArrayList<>();
+        InputStream in = new ChunkedInputStream(List.of("\"a.b.c\"\n", "\"a.b.d\"\n"),
+                () -> seenBeforeSecondChunk.add(out.toString(StandardCharsets.UTF_8)));
+
+        assertEquals(2, streamValidationService.validateAll(in, out));
+
+        assertEquals(List.of("", VALID, VALID + VALID), seenBeforeSecondChunk);
+    }
+
+    @Test
+    void validateAll_clientDisconnecting_shouldEndQuietly() throws IOException {
+        when(jwtValidationService.validateInBulk(anyString())).thenReturn(ValidationResult.VALID);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        long answered = streamValidationService.validateAll(
+                new ByteArrayInputStream("\"a.b.c\"\n\"a.b.d\"\n".getBytes(StandardCharsets.UTF_8)), disconnected);
+
+        assertEquals(2, answered);
+    }
+
+    @Test
+    void validateAll_failingInput_shouldStillThrow() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("read failed");
+            }
+        };
+
+        assertThrows(IOException.class, () -> streamValidationService.validateAll(failing, new ByteArrayOutputStream()));
+    }
+
+    private String validate(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamValidationService.validateAll(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Delivers one chunk per read and never has anything available, like a client sending
+     * lines one at a time; {@code onRead} runs before each read.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+
+        private final List<String> chunks;
+        private final Runnable onRead;
+        private int next;
+
+        ChunkedInputStream(List<String> chunks, Runnable onRead) {
+            this.chunks = chunks;
+            this.onRead = onRead;
+        }
+
+        @Override
+        public int read() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            onRead.run();
+            if (next == chunks.size()) {
+                return -1;
+            }
+            byte[] chunk = chunks.get(next++).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(chunk, 0, buffer, offset, chunk.length);
+            return chunk.length;
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import com.jwt.validator.config.FlightRecordingProperties;
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.ValidationResult;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationFlightRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Recording recording;
+
+    @AfterEach
+    void closeRecording() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    void begin_withoutRecording_shouldHandOutTheSharedNoOpTrace() {
+        ValidationFlightRecorder recorder = recorder(Duration.ZERO);
+
+        ValidationTrace trace = recorder.begin("a.b.c");
+        trace.startStages();
+        trace.stage(ValidationStage.SPLIT);
+        trace.seed("7841");
+
+        assertSame(ValidationTrace.OFF, trace);
+        assertEquals(0, trace.seedDigits());
+        assertSame(ValidationResult.VALID, recorder.finish(trace, ValidationResult.VALID, false));
+    }
+
+    @Test
+    void finish_shouldCommitValidationAndStageEvents() throws IOException {
+        ValidationFlightRecorder recorder = recorder(Duration.ZERO);
+        startRecording();
+
+        ValidationTrace trace = recorder.begin("a.b.c");
+        trace.startStages();
+        trace.stage(ValidationStage.SPLIT);
+        trace.seed("0007841");
+        trace.stage(ValidationStage.PRIME);
+        recorder.finish(trace, ValidationResult.rejected(RejectionReason.SEED), false);
+
+        List<RecordedEvent> events = recordedEvents();
+        RecordedEvent validation = single(events, "com.jwt.validator.Validation");
+        assertEquals(5, validation.getInt("tokenLength"));
+        assertEquals("rejected", validation.getString("outcome"));
+        assertEquals("seed", validation.getString("reason"));
+        assertEquals(4, validation.getInt("seedDigits"));
+        assertFalse(validation.getBoolean("cached"));
+        List<RecordedEvent> stages = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.jwt.validator.ValidationStage"))
+                .toList();
+        assertEquals(List.of("split", "prime"), stages.stream().map(event -> event.getString("stage")).toList());
+    }
+
+    @Test
+    void finish_stageEvents_shouldSpanTheirStagesInsideTheValidation() throws IOException {
+        ValidationFlightRecorder recorder = recorder(Duration.ZERO);
+        startRecording();
+
+        ValidationTrace trace = recorder.begin("a.b.c");
+        trace.startStages();
+        trace.stage(ValidationStage.SPLIT);
+        trace.stage(ValidationStage.DECODE);
+        recorder.finish(trace, ValidationResult.VALID, false);
+
+        List<RecordedEvent> events = recordedEvents();
+        RecordedEvent validation = single(events, "com.jwt.validator.Validation");
+        RecordedEvent split = single(events, "com.jwt.validator.ValidationStage", "split");
+        RecordedEvent decode = single(events, "com.jwt.validator.ValidationStage", "decode");
+        assertFalse(split.getStartTime().isBefore(validation.getStartTime()));
+        assertFalse(split.getEndTime().isAfter(decode.getStartTime()));
+        assertFalse(decode.getEndTime().isAfter(validation.getEndTime()));
+    }
+
+    @Test
+    void finish_fasterThanThreshold_shouldCommitNothing() throws IOException {
+        ValidationFlightRecorder recorder = recorder(Duration.ofHours(1));
+        startRecording();
+
+        ValidationTrace trace = recorder.begin("a.b.c");
+        trace.startStages();
+        trace.stage(ValidationStage.SPLIT);
+        recorder.finish(trace, ValidationResult.VALID, false);
+
+        assertTrue(recordedEvents().stream()
+                .noneMatch(event -> event.getEventType().getName().startsWith("com.jwt.validator.")));
+    }
+
+    @Test
+    void digits_shouldCountSignificantDigitsOnly() {
+        assertEquals(4, ValidationTrace.digits("7841"));
+        assertEquals(2, ValidationTrace.digits("-0012"));
+        assertEquals(0, ValidationTrace.digits("abc"));
+    }
+
+    private static ValidationFlightRecorder recorder(Duration threshold) {
+        return new ValidationFlightRecorder(
+                new FlightRecordingProperties(threshold, Duration.ofMinutes(5), DataSize.ofMegabytes(64)));
+    }
+
+    private void startRecording() {
+        recording = new Recording();
+        recording.enable("com.jwt.validator.Validation");
+        recording.enable("com.jwt.validator.ValidationStage");
+        recording.start();
+    }
+
+    private List<RecordedEvent> recordedEvents() throws IOException {
+        recording.stop();
+        Path file = tempDir.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name, String stage) {
+        return single(events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .filter(event -> stage.equals(event.getString("stage")))
+                .toList(), name);
+    }
+}
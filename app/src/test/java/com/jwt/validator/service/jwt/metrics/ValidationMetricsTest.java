@@ -0,0 +1,49 @@
+package com.jwt.validator.service.jwt.metrics;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ValidationMetrics metrics = new ValidationMetrics(registry);
+
+    @Test
+    void constructor_shouldRegisterEveryMeterUpFront() {
+        assertEquals(ValidationStage.values().length, registry.find(ValidationMetrics.STAGE_TIMER).timers().size());
+        assertEquals(RejectionReason.values().length + 2,
+                registry.find(ValidationMetrics.OUTCOME_COUNTER).counters().size());
+    }
+
+    @Test
+    void stageCompleted_shouldRecordElapsedTimeAndReturnNow() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        long now = metrics.stageCompleted(ValidationStage.DECODE, start);
+
+        assertTrue(now > start);
+        var timer = registry.get(ValidationMetrics.STAGE_TIMER).tag("stage", "decode").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 5);
+    }
+
+    @Test
+    void outcomes_shouldBeCountedByReason() {
+        metrics.rejected(RejectionReason.ROLE);
+        metrics.rejected(RejectionReason.ROLE);
+        metrics.accepted();
+        metrics.failed();
+
+        assertEquals(2, registry.get(ValidationMetrics.OUTCOME_COUNTER)
+                .tags("outcome", "rejected", "reason", "role").counter().count());
+        assertEquals(1, registry.get(ValidationMetrics.OUTCOME_COUNTER)
+                .tags("outcome", "valid", "reason", "none").counter().count());
+        assertEquals(1, registry.get(ValidationMetrics.OUTCOME_COUNTER)
+                .tags("outcome", "error", "reason", "none").counter().count());
+    }
+}
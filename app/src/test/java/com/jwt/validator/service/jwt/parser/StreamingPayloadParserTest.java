@@ -0,0 +1,121 @@
+package com.jwt.validator.service.jwt.parser;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPayloadParserTest {
+
+    private static final int ALL_CLAIMS = Claim.NAME.flag() | Claim.ROLE.flag() | Claim.SEED.flag();
+
+    private final StreamingPayloadParser parser = new StreamingPayloadParser();
+
+    @Test
+    void parse_validPayload_shouldReturnClaims() {
+        PayloadClaims claims = parseClaims("{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Toninho Araujo\"}");
+
+        assertNotNull(claims);
+        assertEquals("Toninho Araujo", claims.name());
+        assertEquals("Admin", claims.role());
+        assertEquals("7841", claims.seed());
+    }
+
+    @Test
+    void parse_numericSeed_shouldBeReadAsText() {
+        PayloadClaims claims = parseClaims("{\"Role\":\"Member\",\"Seed\":7841,\"Name\":\"Pedro Silva\"}");
+
+        assertNotNull(claims);
+        assertEquals("7841", claims.seed());
+    }
+
+    @Test
+    void parse_containerValues_shouldReadAsEmptyText() {
+        PayloadClaims claims = parseClaims("{\"Role\":[\"Admin\"],\"Seed\":{\"v\":7841},\"Name\":\"Pedro Silva\"}");
+
+        assertNotNull(claims);
+        assertEquals("", claims.role());
+        assertEquals("", claims.seed());
+    }
+
+    @Test
+    void parse_duplicatedField_shouldReject() {
+        assertRejected(RejectionReason.STRUCTURE, parse("{\"Role\":\"Admin\",\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}"));
+    }
+
+    @Test
+    void parse_unexpectedFieldBeforeMalformedTail_shouldRejectWithoutReadingFurther() {
+        assertRejected(RejectionReason.STRUCTURE, parse("{\"Extra\":1, this is not json"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "   ",
+            "[\"Name\",\"Role\",\"Seed\"]",
+            "\"Name\"",
+            "{}",
+            "{\"Role\":\"Admin\",\"Name\":\"Pedro Silva\"}",
+            "{\"role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}"
+    })
+    void parse_invalidStructure_shouldReject(String payload) {
+        assertRejected(RejectionReason.STRUCTURE, parse(payload));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{invalid: json}",
+            "{\"Role\":\"Admin\",}",
+            "{\"Role\":\"Admin\"",
+            "{\"Name\":\"Pedro\u0001\"}",
+            "{\"Name\":\"Pedro\\x\"}",
+            "{\"Seed\":0123}",
+            "{\"Seed\":{\"v\":[1,}}",
+            "nul"
+    })
+    void parse_malformedJson_shouldRejectWithoutThrowing(String payload) {
+        assertRejected(RejectionReason.JSON, parse(payload));
+    }
+
+    @Test
+    void parse_missingOptionalClaim_shouldReturnClaims() {
+        byte[] data = "{\"Role\":\"Admin\",\"Name\":\"Pedro Silva\"}".getBytes(StandardCharsets.UTF_8);
+
+        ParsedPayload parsed = parser.parse(data, 0, data.length, Claim.NAME.flag() | Claim.ROLE.flag());
+
+        assertNotNull(parsed.claims());
+        assertNull(parsed.claims().seed());
+    }
+
+    @Test
+    void parse_utf16Payload_shouldRejectInsteadOfAutoDetecting() {
+        byte[] data = "{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}"
+                .getBytes(StandardCharsets.UTF_16LE);
+        assertRejected(RejectionReason.STRUCTURE, parser.parse(data, 0, data.length, ALL_CLAIMS));
+    }
+
+    @Test
+    void parse_shouldHonourOffsetAndLength() {
+        byte[] data = "xx{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}yy"
+                .getBytes(StandardCharsets.UTF_8);
+        assertNotNull(parser.parse(data, 2, data.length - 4, ALL_CLAIMS).claims());
+    }
+
+    private PayloadClaims parseClaims(String payload) {
+        return parse(payload).claims();
+    }
+
+    private ParsedPayload parse(String payload) {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(data, 0, data.length, ALL_CLAIMS);
+    }
+
+    private static void assertRejected(RejectionReason expected, ParsedPayload parsed) {
+        assertNull(parsed.claims());
+        assertEquals(expected, parsed.rejection());
+    }
+}
@@ -0,0 +1,33 @@
+package com.jwt.validator.service.jwt.rules;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharClassTest {
+
+    @Test
+    void compile_rangesLiteralsAndEscapes_shouldMatchMembers() {
+        CharClass charClass = CharClass.compile("a-c\\-_ À-ÿ😀");
+
+        assertTrue(charClass.containsAll("abc-_ é"));
+        assertTrue(charClass.containsAll("😀"));
+        assertFalse(charClass.containsAll("abcd"));
+        assertFalse(charClass.containsAll("Ā"));
+    }
+
+    @Test
+    void compile_dashAtEitherEnd_shouldBeLiteral() {
+        assertTrue(CharClass.compile("-a").containsAll("-a"));
+        assertTrue(CharClass.compile("a-").containsAll("a-"));
+        assertFalse(CharClass.compile("a-").containsAny("b"));
+    }
+
+    @Test
+    void containsAny_shouldScanTheWholeValue() {
+        CharClass digits = CharClass.compile("0-9");
+
+        assertTrue(digits.containsAny("line\nbreak 7"));
+        assertFalse(digits.containsAny("no digits\r\nhere"));
+    }
+}
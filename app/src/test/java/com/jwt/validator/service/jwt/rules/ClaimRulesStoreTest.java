@@ -0,0 +1,77 @@
+package com.jwt.validator.service.jwt.rules;
+
+import com.jwt.validator.config.ClaimRulesProperties;
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.parser.PayloadClaims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimRulesStoreTest {
+
+    private static final PayloadClaims GUEST = new PayloadClaims("Pedro Silva", "Guest", "7841");
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void constructor_withoutPath_shouldUseBundledRules() {
+        ClaimRulesStore store = new ClaimRulesStore(new ClaimRulesProperties("", Duration.ofSeconds(30)), events::add);
+
+        assertEquals(RejectionReason.ROLE, store.current().validate(GUEST));
+    }
+
+    @Test
+    void reloadIfChanged_shouldSwapRulesAndPublishEvent() throws Exception {
+        Path rules = tempDir.resolve("rules.json");
+        Files.writeString(rules, "{\"Role\":{\"allowedValues\":[\"Admin\"]}}");
+        ClaimRulesStore store = new ClaimRulesStore(
+                new ClaimRulesProperties(rules.toString(), Duration.ofSeconds(30)), events::add);
+        ClaimsValidator initial = store.current();
+        long fingerprint = store.fingerprint();
+
+        Files.writeString(rules, "{\"Role\":{\"allowedValues\":[\"Admin\",\"Guest\"]}}");
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        store.reloadIfChanged();
+
+        assertEquals(RejectionReason.ROLE, initial.validate(GUEST));
+        assertNull(store.current().validate(GUEST));
+        assertNotEquals(fingerprint, store.fingerprint());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void reloadIfChanged_brokenFile_shouldKeepPreviousRules() throws Exception {
+        Path rules = tempDir.resolve("rules.json");
+        Files.writeString(rules, "{\"Role\":{\"allowedValues\":[\"Admin\"]}}");
+        ClaimRulesStore store = new ClaimRulesStore(
+                new ClaimRulesProperties(rules.toString(), Duration.ofSeconds(30)), events::add);
+        ClaimsValidator initial = store.current();
+
+        Files.writeString(rules, "{\"Role\":{\"allowedValue\":[\"Guest\"]}}");
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        store.reloadIfChanged();
+
+        assertSame(initial, store.current());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void constructor_invalidRules_shouldFail() throws Exception {
+        Path rules = tempDir.resolve("rules.json");
+        Files.writeString(rules, "{\"Email\":{}}");
+
+        assertThrows(IllegalStateException.class, () -> new ClaimRulesStore(
+                new ClaimRulesProperties(rules.toString(), Duration.ofSeconds(30)), events::add));
+    }
+}
@@ -0,0 +1,114 @@
+package com.jwt.validator.service.jwt.rules;
+
+import com.jwt.validator.service.jwt.RejectionReason;
+import com.jwt.validator.service.jwt.parser.Claim;
+import com.jwt.validator.service.jwt.parser.PayloadClaims;
+import com.jwt.validator.service.prime.PrimeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClaimsValidatorTest {
+
+    private final ClaimsValidator validator = ClaimRulesStore.defaultRules();
+
+    @Test
+    void validate_validClaims_shouldAccept() {
+        assertNull(validator.validate(new PayloadClaims("Toninho Araujo", "Admin", "7841")));
+    }
+
+    @Test
+    void validate_invalidName_shouldRejectWithNameReason() {
+        assertEquals(RejectionReason.NAME, validator.validate(new PayloadClaims("", "Admin", "7841")));
+        assertEquals(RejectionReason.NAME, validator.validate(new PayloadClaims("M4ria Olivia", "Admin", "7841")));
+        assertEquals(RejectionReason.NAME, validator.validate(new PayloadClaims("A".repeat(257), "Admin", "7841")));
+    }
+
+    @Test
+    void validate_digitAfterLineTerminator_shouldRejectName() {
+        assertEquals(RejectionReason.NAME, validator.validate(new PayloadClaims("Maria\nOlivia 2", "Admin", "7841")));
+    }
+
+    @Test
+    void validate_invalidRole_shouldRejectWithRoleReason() {
+        assertEquals(RejectionReason.ROLE, validator.validate(new PayloadClaims("Pedro Silva", "admin", "7841")));
+        assertEquals(RejectionReason.ROLE, validator.validate(new PayloadClaims("Pedro Silva", "", "7841")));
+    }
+
+    @Test
+    void validate_seedNotInteger_shouldRejectBeforePrimality() {
+        assertEquals(RejectionReason.SEED, validator.validate(new PayloadClaims("Pedro Silva", "Admin", "NotANumber")));
+        assertEquals(RejectionReason.SEED, validator.validate(new PayloadClaims("Pedro Silva", "Admin", "")));
+    }
+
+    @Test
+    void validatePrimes_shouldConsultPrimeService() {
+        PrimeService primeService = mock(PrimeService.class);
+        when(primeService.isPrime(7841)).thenReturn(true);
+
+        assertNull(validator.validatePrimes(new PayloadClaims("Pedro Silva", "Admin", "7841"), primeService));
+        assertEquals(RejectionReason.SEED,
+                validator.validatePrimes(new PayloadClaims("Pedro Silva", "Admin", "100"), primeService));
+        assertEquals(RejectionReason.SEED,
+                validator.validatePrimes(new PayloadClaims("Pedro Silva", "Admin", "-7"), primeService));
+        verify(primeService, never()).isPrime(-7);
+    }
+
+    @Test
+    void compile_customRules_shouldApplyEveryConstraint() {
+        ClaimsValidator custom = ClaimsValidator.compile(Map.of(
+                "Name", rule(null, 2, 10, "A-Za-z\\- ", null, null, null, null, null),
+                "Role", rule(null, null, null, null, null, List.of("Owner"), null, null, null),
+                "Seed", rule(false, null, null, null, null, null, 10L, 20L, null)));
+
+        assertEquals(Claim.NAME.flag() | Claim.ROLE.flag(), custom.requiredFields());
+        assertNull(custom.validate(new PayloadClaims("Ana-Lu", "Owner", "15")));
+        assertNull(custom.validate(new PayloadClaims("Ana", "Owner", null)));
+        assertEquals(RejectionReason.NAME, custom.validate(new PayloadClaims("Ana_Lu", "Owner", "15")));
+        assertEquals(RejectionReason.NAME, custom.validate(new PayloadClaims("Ángela", "Owner", "15")));
+        assertEquals(RejectionReason.ROLE, custom.validate(new PayloadClaims("Ana", "Admin", "15")));
+        assertEquals(RejectionReason.SEED, custom.validate(new PayloadClaims("Ana", "Owner", "21")));
+        assertNull(custom.validatePrimes(new PayloadClaims("Ana", "Owner", "15"), mock(PrimeService.class)));
+    }
+
+    @Test
+    void compile_invalidRules_shouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> ClaimsValidator.compile(Map.of(
+                "Email", rule(null, null, null, null, null, null, null, null, null))));
+        assertThrows(IllegalArgumentException.class, () -> ClaimsValidator.compile(Map.of(
+                "Name", rule(null, 5, 1, null, null, null, null, null, null))));
+        assertThrows(IllegalArgumentException.class, () -> ClaimsValidator.compile(Map.of(
+                "Name", rule(null, null, null, "z-a", null, null, null, null, null))));
+        assertThrows(IllegalArgumentException.class, () -> ClaimsValidator.compile(Map.of(
+                "Role", rule(null, null, null, null, null, List.of(), null, null, null))));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "7841, 7841",
+            "+13, 13",
+            "-7, -7",
+            "2147483647, 2147483647",
+            "-2147483648, -2147483648",
+            "2147483648, " + Long.MIN_VALUE,
+            "-2147483649, " + Long.MIN_VALUE,
+            "'', " + Long.MIN_VALUE,
+            "-, " + Long.MIN_VALUE,
+            "12a, " + Long.MIN_VALUE,
+            "' 7', " + Long.MIN_VALUE
+    })
+    void parseInt_shouldMatchIntegerParseIntWithoutThrowing(String value, long expected) {
+        assertEquals(expected, ClaimsValidator.parseInt(value));
+    }
+
+    private static ClaimRule rule(Boolean required, Integer minLength, Integer maxLength, String allowed,
+                                  String forbidden, List<String> values, Long min, Long max, Boolean prime) {
+        return new ClaimRule(required, minLength, maxLength, allowed, forbidden, values, null, min, max, prime);
+    }
+}
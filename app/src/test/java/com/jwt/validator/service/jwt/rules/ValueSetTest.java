@@ -0,0 +1,32 @@
+package com.jwt.validator.service.jwt.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueSetTest {
+
+    @Test
+    void contains_shouldAcceptExactlyTheListedValues() {
+        List<String> values = IntStream.range(0, 200).mapToObj(i -> "role-" + i).toList();
+        ValueSet set = ValueSet.compile(values);
+
+        values.forEach(value -> assertTrue(set.contains(value), value));
+        assertFalse(set.contains("role-200"));
+        assertFalse(set.contains("Role-1"));
+        assertFalse(set.contains(""));
+    }
+
+    @Test
+    void contains_valuesSharingHashCode_shouldStillBeDistinguished() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        ValueSet set = ValueSet.compile(List.of("Aa", "BB"));
+
+        assertTrue(set.contains("Aa"));
+        assertTrue(set.contains("BB"));
+        assertFalse(set.contains("AaBB"));
+    }
+}
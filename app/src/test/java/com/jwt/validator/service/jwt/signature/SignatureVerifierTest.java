@@ -0,0 +1,238 @@
+package com.jwt.validator.service.jwt.signature;
+
+import com.jwt.validator.config.SignatureProperties;
+import com.jwt.validator.service.jwt.parser.TokenSegments;
+import com.jwt.validator.service.jwt.parser.ValidationScratch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignatureVerifierTest {
+
+    private static final String PAYLOAD = "{\"Role\":\"Admin\",\"Seed\":\"7841\",\"Name\":\"Pedro Silva\"}";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @TempDir
+    Path tempDir;
+
+    private final byte[] hmacSecret = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private final List<JwksReloadedEvent> events = new ArrayList<>();
+    private KeyPair rsaKeys;
+    private KeyPair ecKeys;
+    private Path jwksPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeys = rsa.generateKeyPair();
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeys = ec.generateKeyPair();
+
+        jwksPath = tempDir.resolve("jwks.json");
+        Files.writeString(jwksPath, jwks(hmacJwk("hmac-1", hmacSecret), rsaJwk("rsa-1"), ecJwk("ec-1")));
+    }
+
+    @Test
+    void verify_supportedAlgorithms_shouldAcceptValidSignatures() throws Exception {
+        SignatureVerifier verifier = verifier(EnumSet.allOf(JwsAlgorithm.class));
+
+        assertTrue(check(verifier, hs256("hmac-1", hmacSecret)));
+        assertTrue(check(verifier, signed("RS256", "rsa-1", "SHA256withRSA", rsaKeys.getPrivate())));
+        assertTrue(check(verifier, signed("ES256", "ec-1", "SHA256withECDSAinP1363Format", ecKeys.getPrivate())));
+        assertTrue(check(verifier, hs256("hmac-1", hmacSecret)));
+    }
+
+    @Test
+    void verify_tamperedPayloadOrWrongSecret_shouldReject() throws Exception {
+        SignatureVerifier verifier = verifier(EnumSet.allOf(JwsAlgorithm.class));
+        String token = signed("RS256", "rsa-1", "SHA256withRSA", rsaKeys.getPrivate());
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + ENCODER.encodeToString(
+                PAYLOAD.replace("Admin", "Member").getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertFalse(check(verifier, tampered));
+        assertFalse(check(verifier, hs256("hmac-1", "another-secret-another-secret-xx".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(check(verifier, parts[0] + "." + parts[1] + ".c2ln"));
+    }
+
+    @Test
+    void resolveKey_disallowedOrMalformedHeader_shouldRejectBeforeCrypto() throws Exception {
+        SignatureVerifier verifier = verifier(EnumSet.of(JwsAlgorithm.RS256));
+
+        assertNull(resolve(verifier, hs256("hmac-1", hmacSecret)));
+        assertNull(resolve(verifier, header("{\"alg\":\"none\"}") + "." + payload() + "."));
+        assertNull(resolve(verifier, header("{\"alg\":\"RS256\",\"alg\":\"RS256\",\"kid\":\"rsa-1\"}") + "." + payload() + ".x"));
+        assertNull(resolve(verifier, header("[\"RS256\"]") + "." + payload() + ".x"));
+        assertNull(resolve(verifier, "e30*." + payload() + ".x"));
+    }
+
+    @Test
+    void resolveKey_keyOfAnotherAlgorithmOrUnknownKid_shouldReject() throws Exception {
+        SignatureVerifier verifier = verifier(EnumSet.allOf(JwsAlgorithm.class));
+
+        assertNull(resolve(verifier, header("{\"alg\":\"HS256\",\"kid\":\"rsa-1\"}") + "." + payload() + ".x"));
+        assertNull(resolve(verifier, header("{\"alg\":\"RS256\",\"kid\":\"missing\"}") + "." + payload() + ".x"));
+    }
+
+    @Test
+    void resolveKey_withoutKid_shouldUseTheOnlyKeyOfTheAlgorithm() throws Exception {
+        SignatureVerifier verifier = verifier(EnumSet.allOf(JwsAlgorithm.class));
+
+        VerificationKey key = resolve(verifier, header("{\"alg\":\"ES256\"}") + "." + payload() + ".x");
+
+        assertNotNull(key);
+        assertEquals("ec-1", key.kid());
+    }
+
+    @Test
+    void reloadIfChanged_shouldSwapKeysAndPublishEvent() throws Exception {
+        SignatureProperties properties = properties(EnumSet.allOf(JwsAlgorithm.class));
+        JwksKeyStore keyStore = new JwksKeyStore(properties, event -> events.add((JwksReloadedEvent) event));
+        keyStore.start();
+        try {
+            SignatureVerifier verifier = new SignatureVerifier(properties, keyStore);
+            byte[] rotated = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8);
+            Files.writeString(jwksPath, jwks(hmacJwk("hmac-2", rotated)));
+            Files.setLastModifiedTime(jwksPath, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+            keyStore.reloadIfChanged();
+
+            assertEquals(2, events.size());
+            assertEquals(1, keyStore.size());
+            assertFalse(check(verifier, hs256("hmac-1", hmacSecret)));
+            assertTrue(check(verifier, hs256("hmac-2", rotated)));
+        } finally {
+            keyStore.stop();
+        }
+    }
+
+    @Test
+    void reloadIfChanged_brokenFile_shouldKeepPreviousKeys() throws Exception {
+        SignatureProperties properties = properties(EnumSet.allOf(JwsAlgorithm.class));
+        JwksKeyStore keyStore = new JwksKeyStore(properties, event -> events.add((JwksReloadedEvent) event));
+        keyStore.start();
+        try {
+            Files.writeString(jwksPath, "{ not json");
+            Files.setLastModifiedTime(jwksPath, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+            keyStore.reloadIfChanged();
+
+            assertEquals(3, keyStore.size());
+            assertEquals(1, events.size());
+        } finally {
+            keyStore.stop();
+        }
+    }
+
+    private SignatureVerifier verifier(Set<JwsAlgorithm> allowed) {
+        SignatureProperties properties = properties(allowed);
+        JwksKeyStore keyStore = new JwksKeyStore(properties, event -> events.add((JwksReloadedEvent) event));
+        keyStore.start();
+        keyStore.stop();
+        return new SignatureVerifier(properties, keyStore);
+    }
+
+    private SignatureProperties properties(Set<JwsAlgorithm> allowed) {
+        return new SignatureProperties(true, jwksPath.toString(), allowed, Duration.ofHours(1));
+    }
+
+    private static boolean check(SignatureVerifier verifier, String token) {
+        ValidationScratch scratch = ValidationScratch.acquire();
+        try {
+            TokenSegments segments = scratch.segments();
+            assertTrue(segments.scan(token));
+            VerificationKey key = verifier.resolveKey(token, segments, scratch);
+            return key != null && verifier.verify(key, token, segments, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static VerificationKey resolve(SignatureVerifier verifier, String token) {
+        ValidationScratch scratch = ValidationScratch.acquire();
+        try {
+            TokenSegments segments = scratch.segments();
+            assertTrue(segments.scan(token));
+            return verifier.resolveKey(token, segments, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static String hs256(String kid, byte[] secret) throws Exception {
+        String signingInput = header("{\"alg\":\"HS256\",\"kid\":\"" + kid + "\"}") + "." + payload();
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+        return signingInput + "." + ENCODER.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String signed(String alg, String kid, String jcaName, PrivateKey key) throws Exception {
+        String signingInput = header("{\"alg\":\"" + alg + "\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}") + "." + payload();
+        Signature signature = Signature.getInstance(jcaName);
+        signature.initSign(key);
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + ENCODER.encodeToString(signature.sign());
+    }
+
+    private static String header(String json) {
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String payload() {
+        return ENCODER.encodeToString(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String hmacJwk(String kid, byte[] secret) {
+        return "{\"kty\":\"oct\",\"kid\":\"" + kid + "\",\"k\":\"" + ENCODER.encodeToString(secret) + "\"}";
+    }
+
+    private String rsaJwk(String kid) {
+        RSAPublicKey key = (RSAPublicKey) rsaKeys.getPublic();
+        return "{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"alg\":\"RS256\",\"n\":\"" + unsigned(key.getModulus())
+                + "\",\"e\":\"" + unsigned(key.getPublicExponent()) + "\"}";
+    }
+
+    private String ecJwk(String kid) {
+        ECPublicKey key = (ECPublicKey) ecKeys.getPublic();
+        return "{\"kty\":\"EC\",\"kid\":\"" + kid + "\",\"crv\":\"P-256\",\"x\":\"" + unsigned(key.getW().getAffineX())
+                + "\",\"y\":\"" + unsigned(key.getW().getAffineY()) + "\"}";
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+}
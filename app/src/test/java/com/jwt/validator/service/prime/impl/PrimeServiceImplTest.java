@@ -1,9 +1,11 @@
 package com.jwt.validator.service.prime.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.math.BigInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -88,4 +90,55 @@ class PrimeServiceImplTest {
             () -> assertFalse(primeService.isPrime(Integer.MAX_VALUE - 1))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void isPrime_sieveAndMillerRabin_shouldAgreeWithTrialDivision() {
+        PrimeServiceImpl smallSieve = new PrimeServiceImpl(1000);
+
+        for (int n = -10; n < 20_000; n++) {
+            assertEquals(isPrimeByTrialDivision(n), smallSieve.isPrime(n), "n=" + n);
+            assertEquals(isPrimeByTrialDivision(n), primeService.isPrime(n), "n=" + n);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2047, 3277, 4033, 8321, 1_373_653, 25_326_001, 2_147_483_629, 2_147_483_587,
+            46_337 * 46_337, 65_521 * 32_749})
+    void isPrime_millerRabinRange_shouldMatchBigInteger(int n) {
+        PrimeServiceImpl smallSieve = new PrimeServiceImpl(1000);
+        assertEquals(BigInteger.valueOf(n).isProbablePrime(50), smallSieve.isPrime(n));
+    }
+
+    @Test
+    void constructor_tinySieveLimit_shouldBeRaisedToMinimum() {
+        assertEquals(PrimeServiceImpl.MIN_SIEVE_LIMIT, new PrimeServiceImpl(0).sieveLimit());
+        assertTrue(new PrimeServiceImpl(0).isPrime(61));
+        assertTrue(new PrimeServiceImpl(0).isPrime(67));
+    }
+
+    @Test
+    void bindTo_shouldCountSieveHitsAndMisses() {
+        PrimeServiceImpl smallSieve = new PrimeServiceImpl(1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        smallSieve.bindTo(registry);
+
+        smallSieve.isPrime(997);
+        smallSieve.isPrime(998);
+        smallSieve.isPrime(1009);
+
+        assertEquals(2, registry.get("jwt.prime.sieve.lookups").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("jwt.prime.sieve.lookups").tag("result", "miss").functionCounter().count());
+    }
+
+    private static boolean isPrimeByTrialDivision(int n) {
+        if (n < 2) {
+            return false;
+        }
+        for (int i = 2; (long) i * i <= n; i++) {
+            if (n % i == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
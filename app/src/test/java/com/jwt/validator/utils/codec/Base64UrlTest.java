@@ -0,0 +1,53 @@
+package com.jwt.validator.utils.codec;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base64UrlTest {
+
+    @Test
+    void decode_shouldMatchJdkDecoderForRandomPayloads() {
+        Random random = new Random(42);
+        for (int size = 0; size < 200; size++) {
+            byte[] original = new byte[size];
+            random.nextBytes(original);
+            String padded = Base64.getUrlEncoder().encodeToString(original);
+            String unpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(original);
+
+            assertArrayEquals(original, decode(padded));
+            assertArrayEquals(original, decode(unpadded));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "abcde", "ab=", "abcd=", "abcd==", "a===", "====", "=", "ab=c", "ab+c", "ab/c", "ab c", "abcé"})
+    void decode_malformedInput_shouldAgreeWithJdkAndNotThrow(String input) {
+        assertThrows(IllegalArgumentException.class, () -> Base64.getUrlDecoder().decode(input));
+        assertEquals(Base64Url.MALFORMED,
+                Base64Url.decode(input, 0, input.length(), new byte[Base64Url.maxDecodedLength(input.length())], 0));
+    }
+
+    @Test
+    void decode_shouldHonourRangeAndOffset() {
+        String token = "xx.eyJhIjoxfQ.yy";
+        byte[] buffer = new byte[32];
+
+        int length = Base64Url.decode(token, 3, 13, buffer, 4);
+
+        assertEquals("{\"a\":1}", new String(buffer, 4, length));
+    }
+
+    private static byte[] decode(String input) {
+        byte[] buffer = new byte[Base64Url.maxDecodedLength(input.length())];
+        int length = Base64Url.decode(input, 0, input.length(), buffer, 0);
+        assertNotEquals(Base64Url.MALFORMED, length);
+        return Arrays.copyOf(buffer, length);
+    }
+}
@@ -0,0 +1,155 @@
+package com.jwt.validator.utils.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonObjectReaderTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            " { \"a\" : \"b\" } ",
+            "{\"a\":1,\"b\":-0.5e+3,\"c\":true,\"d\":false,\"e\":null}",
+            "{\"a\":[1,[2,{\"x\":[]}],{}],\"b\":{\"c\":{\"d\":\"e\"}}}",
+            "{\"a\":\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\uD83D\\uDE00\"}",
+            "{\"Jo\u00e3o\":\"\u00c1gua \u20ac \ud83d\ude00\"}",
+            "{\"a\":1} trailing bytes are not read",
+            "{\"a\":1,}",
+            "{\"a\":1 \"b\":2}",
+            "{\"a\"1}",
+            "{a:1}",
+            "{'a':1}",
+            "{\"a\":01}",
+            "{\"a\":+1}",
+            "{\"a\":1.}",
+            "{\"a\":.5}",
+            "{\"a\":1e}",
+            "{\"a\":tru}",
+            "{\"a\":\"\\x\"}",
+            "{\"a\":\"\\u12\"}",
+            "{\"a\":\"line\nbreak\"}",
+            "{\"a\":\"unterminated}",
+            "{\"a\":[1,]}",
+            "{\"a\":[1 2]}",
+            "{\"a\":{\"b\"}}",
+            "{\"a\":1",
+            "{\"a\":",
+            "{",
+            "{/* comment */}"
+    })
+    void reader_shouldAgreeWithJackson(String json) throws IOException {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(jackson(data), read(data), json);
+    }
+
+    @Test
+    void reader_malformedUtf8_shouldReject() {
+        byte[][] inputs = {
+                {'{', '"', 'a', '"', ':', '"', (byte) 0xC3, '"', '}'},
+                {'{', '"', 'a', '"', ':', '"', (byte) 0xC0, (byte) 0xAF, '"', '}'},
+                {'{', '"', 'a', '"', ':', '"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"', '}'},
+                {'{', '"', 'a', '"', ':', '"', (byte) 0xF5, (byte) 0x80, (byte) 0x80, (byte) 0x80, '"', '}'},
+                {'{', '"', 'a', '"', ':', '"', (byte) 0x80, '"', '}'}
+        };
+        for (byte[] input : inputs) {
+            assertNull(read(input));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "  ", "[1]", "\"a\"", "12", "null"})
+    void begin_otherValues_shouldReportNotObject(String json) {
+        assertEquals(JsonObjectReader.NOT_OBJECT, reader(json).begin());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"}", "x", "nul", "-", "01"})
+    void begin_garbage_shouldReportMalformed(String json) {
+        assertEquals(JsonObjectReader.MALFORMED, reader(json).begin());
+    }
+
+    @Test
+    void reader_deepNesting_shouldRejectBeyondLimit() {
+        String shallow = "{\"a\":" + "[".repeat(JsonObjectReader.MAX_DEPTH - 1) + "]".repeat(JsonObjectReader.MAX_DEPTH - 1) + "}";
+        String deep = "{\"a\":" + "[".repeat(JsonObjectReader.MAX_DEPTH) + "]".repeat(JsonObjectReader.MAX_DEPTH) + "}";
+
+        assertNotNull(read(shallow.getBytes(StandardCharsets.UTF_8)));
+        assertNull(read(deep.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void isStringValue_shouldNotConsumeTheValue() {
+        JsonObjectReader reader = reader("{\"alg\": \"HS256\", \"n\": 1}");
+
+        assertEquals(JsonObjectReader.OBJECT, reader.begin());
+        assertEquals(JsonObjectReader.FIELD, reader.nextField());
+        assertTrue(reader.isStringValue());
+        assertEquals("HS256", reader.readValueAsText());
+        assertEquals(JsonObjectReader.FIELD, reader.nextField());
+        assertFalse(reader.isStringValue());
+        assertTrue(reader.skipValue());
+        assertEquals(JsonObjectReader.END, reader.nextField());
+    }
+
+    private static JsonObjectReader reader(String json) {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        return new JsonObjectReader(data, 0, data.length);
+    }
+
+    /**
+     * @return the fields and values of the root object as {@code name=text}, or
+     *         {@code null} when the input is malformed
+     */
+    private static List<String> read(byte[] data) {
+        JsonObjectReader reader = new JsonObjectReader(data, 0, data.length);
+        if (reader.begin() != JsonObjectReader.OBJECT) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        int next;
+        while ((next = reader.nextField()) == JsonObjectReader.FIELD) {
+            String value = reader.readValueAsText();
+            if (value == null) {
+                return null;
+            }
+            fields.add(reader.name() + "=" + value);
+        }
+        return next == JsonObjectReader.END ? fields : null;
+    }
+
+    private static List<String> jackson(byte[] data) {
+        try (JsonParser parser = JSON.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    fields.add(name + "=");
+                } else {
+                    fields.add(name + "=" + parser.getText());
+                }
+            }
+            return fields;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jwt.validator.utils.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_beyondLimit_shouldRefuseUntilReleased() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 2, 0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(1, limit.rejections());
+
+        limit.release(MILLIS);
+        assertEquals(1, limit.inFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void release_slowCalls_shouldShrinkOncePerObservedLatencyDownToMin() {
+        AdaptiveConcurrencyLimit limit = limit(10, 2, 20, 0);
+        call(limit, MILLIS);
+
+        call(limit, 10 * MILLIS);
+        assertEquals(5, limit.limit());
+        call(limit, 10 * MILLIS);
+        assertEquals(5, limit.limit(), "calls admitted under the old limit must drain first");
+
+        clock.addAndGet(10 * MILLIS);
+        call(limit, 10 * MILLIS);
+        assertEquals(2, limit.limit());
+
+        clock.addAndGet(10 * MILLIS);
+        call(limit, 10 * MILLIS);
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void release_slowCallsUnderTheFloor_shouldNotShrink() {
+        AdaptiveConcurrencyLimit limit = limit(10, 2, 20, 50 * MILLIS);
+        call(limit, MILLIS);
+
+        call(limit, 10 * MILLIS);
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void release_fastCallsWithHighUtilisation_shouldGrowUpToMax() {
+        AdaptiveConcurrencyLimit limit = limit(4, 1, 6, 0);
+        call(limit, MILLIS);
+
+        for (int round = 0; round < 10; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(MILLIS);
+            }
+        }
+
+        assertEquals(6, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void release_fastCallsWithLowUtilisation_shouldKeepLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 20, 0);
+
+        for (int i = 0; i < 100; i++) {
+            call(limit, MILLIS);
+        }
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void baseline_shouldFollowFasterCallsQuicklyAndSlowerOnesSlowly() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 20, Long.MAX_VALUE);
+        call(limit, 8 * MILLIS);
+
+        call(limit, 0);
+        assertEquals(7 * MILLIS + 1, limit.baselineNanos());
+
+        call(limit, 1000 * MILLIS);
+        assertTrue(limit.baselineNanos() < 8 * MILLIS);
+    }
+
+    @Test
+    void tryAcquire_concurrently_shouldNeverExceedLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = limit(4, 4, 4, 0);
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limit.tryAcquire()) {
+                        peak.accumulateAndGet(limit.inFlight(), Math::max);
+                        limit.release(MILLIS);
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= 4);
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void constructor_inconsistentSettings_shouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 10, 2, 0.9, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 1, 10, 1.0, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 1, 10, 0.9, 0.5, 0));
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max, long floorNanos) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, 0.5, 2.0, floorNanos, clock::get);
+    }
+
+    private static void call(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        assertTrue(limit.tryAcquire());
+        limit.release(latencyNanos);
+    }
+}
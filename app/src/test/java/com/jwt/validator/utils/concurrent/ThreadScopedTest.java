@@ -0,0 +1,67 @@
+package com.jwt.validator.utils.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadScopedTest {
+
+    @Test
+    void acquire_onPlatformThread_shouldKeepOneInstancePerThread() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ThreadScoped<Object> scoped = new ThreadScoped<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+
+        Object first = scoped.acquire();
+        scoped.release(first);
+        Object second = scoped.acquire();
+        scoped.release(second);
+
+        AtomicReference<Object> other = new AtomicReference<>();
+        Thread thread = Thread.ofPlatform().start(() -> other.set(scoped.acquire()));
+        thread.join();
+
+        assertSame(first, second);
+        assertNotSame(first, other.get());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void acquire_onVirtualThreads_shouldReuseReleasedInstances() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ThreadScoped<Object> scoped = new ThreadScoped<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 4);
+
+        for (int i = 0; i < 100; i++) {
+            Thread.ofVirtual().start(() -> scoped.release(scoped.acquire())).join();
+        }
+
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void acquire_onVirtualThreads_shouldNotShareBorrowedInstances() throws Exception {
+        ThreadScoped<Object> scoped = new ThreadScoped<>(Object::new, 4);
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+
+        Thread.ofVirtual().start(() -> {
+            first.set(scoped.acquire());
+            try {
+                Thread.ofVirtual().start(() -> second.set(scoped.acquire())).join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }).join();
+
+        assertNotNull(first.get());
+        assertNotSame(first.get(), second.get());
+    }
+}
@@ -0,0 +1,95 @@
+package com.jwt.validator.utils.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogManagerTest {
+
+    private static final int CALLS = 100_000;
+
+    private final LogManager<LogManagerTest> log = new LogManager<>(LogManagerTest.class);
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogManagerTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        RequestUUIDHolder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+        RequestUUIDHolder.clear();
+    }
+
+    @Test
+    void disabledLevel_shouldNotEvaluateSupplierNorGenerateRequestId() {
+        logger.setLevel(Level.ERROR);
+        AtomicInteger evaluations = new AtomicInteger();
+
+        log.debug("value", () -> evaluations.incrementAndGet());
+        log.warn("value", () -> evaluations.incrementAndGet());
+
+        assertEquals(0, evaluations.get());
+        assertTrue(appender.list.isEmpty());
+        RequestUUIDHolder.setUuid("set-after-the-calls");
+        assertEquals("set-after-the-calls", RequestUUIDHolder.getUuid());
+    }
+
+    @Test
+    void enabledLevel_shouldPrefixRequestIdAndEvaluateSupplier() {
+        logger.setLevel(Level.DEBUG);
+        RequestUUIDHolder.setUuid("request-1");
+
+        log.debug("Seed", () -> 7841);
+        log.warn("Seed is not a prime number", 100);
+
+        assertEquals(2, appender.list.size());
+        assertEquals("[request-1] Seed: 7841", appender.list.get(0).getFormattedMessage());
+        assertEquals("[request-1] Seed is not a prime number: 100", appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void disabledLevel_shouldNotAllocate() {
+        logger.setLevel(Level.ERROR);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Supplier<Object> supplier = () -> "expensive";
+        Object payload = "payload";
+
+        for (int i = 0; i < CALLS; i++) {
+            logDisabledLines(i, supplier, payload);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            logDisabledLines(i, supplier, payload);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A single boxed int or varargs array per call would add up to megabytes here.
+        assertTrue(allocated < 4096, "allocated " + allocated + " bytes for " + CALLS + " disabled calls");
+    }
+
+    private void logDisabledLines(int i, Supplier<Object> supplier, Object payload) {
+        log.debug("Number is less than 2 - not prime", i + 1000);
+        log.debug("Full token received", payload);
+        log.debug("Valid payload - [Name] {} [Role] {} [Seed] {}", payload, "Admin", "7841");
+        log.debug("Lazy value", supplier);
+        log.info("Starting JWT validation process");
+        log.warn("Seed is not a prime number", i + 1000);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jwt.validator.utils.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestUUIDHolderTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestUUIDHolder.clear();
+    }
+
+    @Test
+    void newUuid_shouldProduceDistinctVersion4Uuids() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID uuid = UUID.fromString(RequestUUIDHolder.newUuid());
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            ids.add(uuid.toString());
+        }
+        assertEquals(10_000, ids.size());
+    }
+
+    @Test
+    void getUuid_shouldBeStoredInMdcUntilCleared() {
+        String uuid = RequestUUIDHolder.getUuid();
+
+        assertEquals(uuid, MDC.get(RequestUUIDHolder.MDC_KEY));
+        assertEquals(uuid, RequestUUIDHolder.getUuid());
+
+        RequestUUIDHolder.clear();
+        assertNull(MDC.get(RequestUUIDHolder.MDC_KEY));
+    }
+
+    @Test
+    void propagating_shouldRunUnderCallerIdAndRestoreWorkerState() throws Exception {
+        RequestUUIDHolder.setUuid("request-1");
+        Function<String, String> task = RequestUUIDHolder.propagating(value -> value + RequestUUIDHolder.getUuid());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String result = CompletableFuture.supplyAsync(() -> task.apply("id="), executor).get();
+            String afterwards = CompletableFuture.supplyAsync(() -> MDC.get(RequestUUIDHolder.MDC_KEY), executor).get();
+
+            assertEquals("id=request-1", result);
+            assertNull(afterwards);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
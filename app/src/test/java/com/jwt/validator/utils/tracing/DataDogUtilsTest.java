@@ -0,0 +1,186 @@
+package com.jwt.validator.utils.tracing;
+
+import com.jwt.validator.config.TracingProperties;
+import com.jwt.validator.utils.logs.RequestUUIDHolder;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.tag.Tags;
+import io.opentracing.util.GlobalTracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DataDogUtilsTest {
+
+    private static final Tracer TRACER = mock(Tracer.class);
+
+    private final Span span = mock(Span.class);
+
+    @BeforeAll
+    static void registerTracer() {
+        GlobalTracer.registerIfAbsent(TRACER);
+    }
+
+    @BeforeEach
+    void activateSpan() {
+        reset(TRACER);
+        when(TRACER.activeSpan()).thenReturn(span);
+        RequestUUIDHolder.setUuid("request-1");
+        DataDogUtils.install(TracingPolicy.SAMPLE_ALL);
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestUUIDHolder.clear();
+        DataDogUtils.install(TracingPolicy.SAMPLE_ALL);
+    }
+
+    @Test
+    void tagSpan_constantTag_shouldWriteTagAndCorrelationId() {
+        DataDogUtils.tagSpan(SpanTag.INVALID_JSON);
+
+        verify(span).setTag(DataDogUtils.CORRELATION_ID, "request-1");
+        verify(span).setTag(DataDogUtils.INVALID_CAUSE, "Invalid JSON payload");
+    }
+
+    @Test
+    void tagSpan_blankValue_shouldBeSkipped() {
+        DataDogUtils.tagSpan(SpanOutcome.VALID, DataDogUtils.ROLE, "Admin", DataDogUtils.SEED, " ");
+
+        verify(span).setTag(DataDogUtils.ROLE, "Admin");
+        verify(span, never()).setTag(eq(DataDogUtils.SEED), anyString());
+    }
+
+    @Test
+    void tagSpan_bytes_shouldDecodeOnlyTheGivenRange() {
+        byte[] data = "xx{\"Role\":\"Admin\"}yy".getBytes(StandardCharsets.UTF_8);
+
+        DataDogUtils.tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, data, 2, data.length - 4);
+
+        verify(span).setTag(DataDogUtils.PAYLOAD, "{\"Role\":\"Admin\"}");
+    }
+
+    @Test
+    void tagSpan_withoutActiveSpan_shouldDoNothing() {
+        when(TRACER.activeSpan()).thenReturn(null);
+
+        DataDogUtils.tagSpan(SpanTag.CACHE_HIT);
+
+        verifyNoInteractions(span);
+    }
+
+    @Test
+    void tagSpan_unsampledOutcome_shouldLeaveSpanUntouched() {
+        DataDogUtils.install(policy(0, 256, false));
+
+        DataDogUtils.tagSpan(SpanTag.INVALID_STRUCTURE);
+        DataDogUtils.tagSpan(SpanOutcome.VALID, DataDogUtils.ROLE, "Admin");
+
+        verify(span, never()).setTag(eq(DataDogUtils.INVALID_CAUSE), anyString());
+        verify(span, times(1)).setTag(DataDogUtils.CORRELATION_ID, "request-1");
+        verify(span).setTag(DataDogUtils.ROLE, "Admin");
+    }
+
+    @Test
+    void tagSpan_unsampledWithDrop_shouldAskAgentToDropTrace() {
+        DataDogUtils.install(policy(0, 256, true));
+
+        DataDogUtils.tagSpan(SpanTag.INVALID_STRUCTURE);
+
+        verify(span).setTag(Tags.SAMPLING_PRIORITY, 0);
+        verify(span, never()).setTag(eq(DataDogUtils.INVALID_CAUSE), anyString());
+    }
+
+    @Test
+    void tagSpanTotals_shouldTagOnceWhateverTheSampling() {
+        DataDogUtils.install(policy(0, 256, true));
+
+        DataDogUtils.tagSpanTotals(3, 2, 1);
+
+        verify(span).setTag(DataDogUtils.CORRELATION_ID, "request-1");
+        verify(span).setTag(DataDogUtils.TOKENS, 6L);
+        verify(span).setTag(DataDogUtils.TOKENS_VALID, 3L);
+        verify(span).setTag(DataDogUtils.TOKENS_REJECTED, 2L);
+        verify(span).setTag(DataDogUtils.TOKENS_ERROR, 1L);
+        verify(span, never()).setTag(Tags.SAMPLING_PRIORITY, 0);
+    }
+
+    @Test
+    void tagSpan_longValue_shouldBeCutAndHashed() {
+        DataDogUtils.install(policy(1, 8, false));
+        byte[] data = "{\"Name\":\"Toninho Araujo\"}".getBytes(StandardCharsets.UTF_8);
+
+        DataDogUtils.tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, data, 0, data.length);
+        DataDogUtils.tagSpan(SpanOutcome.ERROR, DataDogUtils.ERROR, new String(data, StandardCharsets.UTF_8));
+
+        verify(span).setTag(DataDogUtils.PAYLOAD, "{\"Name\":...");
+        verify(span).setTag(DataDogUtils.PAYLOAD + ".length", data.length);
+        verify(span).setTag(DataDogUtils.ERROR, "{\"Name\":...");
+        verify(span).setTag(DataDogUtils.ERROR + ".length", data.length);
+        ArgumentCaptor<String> payloadHash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> errorHash = ArgumentCaptor.forClass(String.class);
+        verify(span).setTag(eq(DataDogUtils.PAYLOAD + ".hash"), payloadHash.capture());
+        verify(span).setTag(eq(DataDogUtils.ERROR + ".hash"), errorHash.capture());
+        assertEquals(payloadHash.getValue(), errorHash.getValue());
+    }
+
+    @Test
+    void tagSpan_cutInsideMultiByteCharacter_shouldKeepWholeCharacters() {
+        DataDogUtils.install(policy(1, 4, false));
+        byte[] data = "abcçd".getBytes(StandardCharsets.UTF_8);
+
+        DataDogUtils.tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, data, 0, data.length);
+
+        verify(span).setTag(DataDogUtils.PAYLOAD, "abc...");
+    }
+
+    @Test
+    void tagSpan_longValue_shouldReportSameLengthAndHashForTextAndBytes() {
+        DataDogUtils.install(policy(1, 4, false));
+        String value = "{\"Name\":\"João Conceição\"}";
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+
+        DataDogUtils.tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, data, 0, data.length);
+        DataDogUtils.tagSpan(SpanOutcome.ERROR, DataDogUtils.ERROR, value);
+
+        verify(span).setTag(DataDogUtils.PAYLOAD + ".length", data.length);
+        verify(span).setTag(DataDogUtils.ERROR + ".length", data.length);
+        ArgumentCaptor<String> payloadHash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> errorHash = ArgumentCaptor.forClass(String.class);
+        verify(span).setTag(eq(DataDogUtils.PAYLOAD + ".hash"), payloadHash.capture());
+        verify(span).setTag(eq(DataDogUtils.ERROR + ".hash"), errorHash.capture());
+        assertEquals(payloadHash.getValue(), errorHash.getValue());
+    }
+
+    @Test
+    void tagSpan_textCutInsideMultiByteCharacter_shouldMatchTheBytesPath() {
+        DataDogUtils.install(policy(1, 5, false));
+        String value = "ab\uD83D\uDE00cd\u00e7\u20ac" + "x".repeat(100) + "\uD800";
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+
+        DataDogUtils.tagSpan(SpanOutcome.REJECTED, DataDogUtils.PAYLOAD, data, 0, data.length);
+        DataDogUtils.tagSpan(SpanOutcome.ERROR, DataDogUtils.ERROR, value);
+
+        verify(span).setTag(DataDogUtils.PAYLOAD, "ab...");
+        verify(span).setTag(DataDogUtils.ERROR, "ab...");
+        verify(span).setTag(DataDogUtils.ERROR + ".length", data.length);
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        verify(span).setTag(DataDogUtils.ERROR + ".hash", Long.toHexString(crc.getValue()));
+    }
+
+    private static TracingPolicy policy(double rejectedSampleRate, int maxTagLength, boolean dropUnsampled) {
+        return new TracingPolicy(new TracingProperties(
+                1, rejectedSampleRate, 1, maxTagLength, dropUnsampled, Duration.ZERO));
+    }
+}
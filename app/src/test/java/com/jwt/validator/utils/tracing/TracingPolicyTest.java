@@ -0,0 +1,56 @@
+package com.jwt.validator.utils.tracing;
+
+import com.jwt.validator.config.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingPolicyTest {
+
+    private double nextRandom;
+
+    private final TracingPolicy policy = new TracingPolicy(
+            new TracingProperties(1, 0.25, 0, 256, false, Duration.ZERO), () -> nextRandom);
+
+    @Test
+    void sample_shouldFollowTheRateOfEachOutcome() {
+        nextRandom = 0.2;
+        assertTrue(policy.sample(SpanOutcome.REJECTED));
+        nextRandom = 0.3;
+        assertFalse(policy.sample(SpanOutcome.REJECTED));
+        assertTrue(policy.sample(SpanOutcome.VALID));
+        nextRandom = 0;
+        assertFalse(policy.sample(SpanOutcome.ERROR));
+    }
+
+    @Test
+    void flush_shouldReportUnsampledEventsOnlyOnce() {
+        nextRandom = 0.9;
+        policy.sample(SpanOutcome.REJECTED);
+        policy.sample(SpanOutcome.REJECTED);
+        policy.sample(SpanOutcome.ERROR);
+
+        assertEquals(Map.of("valid", 0L, "rejected", 2L, "error", 1L), policy.flush());
+        policy.sample(SpanOutcome.REJECTED);
+        assertEquals(Map.of("valid", 0L, "rejected", 1L, "error", 0L), policy.flush());
+    }
+
+    @Test
+    void bindTo_shouldPublishDecisionsByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+        nextRandom = 0.9;
+
+        policy.sample(SpanOutcome.REJECTED);
+        policy.sample(SpanOutcome.VALID);
+
+        assertEquals(1, registry.get("jwt.tracing.span.events")
+                .tags("outcome", "rejected", "sampled", "false").functionCounter().count());
+        assertEquals(1, registry.get("jwt.tracing.span.events")
+                .tags("outcome", "valid", "sampled", "true").functionCounter().count());
+    }
+}